@@ -0,0 +1,20 @@
+USE neighbourhood_hub;
+
+-- One-off cleanup for databases created before uk_registrations_user_event existed.
+-- The application refuses to start while the constraint is missing; review the rows the
+-- first query lists, then run the rest. The earliest registration of each pair is kept.
+
+SELECT username, event_id, COUNT(*) AS copies, MIN(id) AS kept_id
+FROM user_event_registrations
+GROUP BY username, event_id
+HAVING COUNT(*) > 1;
+
+DELETE FROM user_event_registrations
+WHERE id NOT IN (
+    SELECT keep_id FROM (
+        SELECT MIN(id) AS keep_id FROM user_event_registrations GROUP BY username, event_id
+    ) kept
+);
+
+ALTER TABLE user_event_registrations
+ADD CONSTRAINT uk_registrations_user_event UNIQUE (username, event_id);
@@ -0,0 +1,14 @@
+package com.examly.springapp.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache names and sizing live in application.properties (spring.cache.*);
+// set spring.cache.type=none in a profile to disable caching there.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String APPROVED_EVENTS = "approvedEvents";
+    public static final String EVENTS = "events";
+}
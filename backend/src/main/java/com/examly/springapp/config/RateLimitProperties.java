@@ -0,0 +1,60 @@
+package com.examly.springapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Bound from rate-limit.* in application.properties. A capacity or per-minute rate of 0
+// turns that dimension off for the route.
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int stripes = 16;
+    private List<Route> routes = new ArrayList<>();
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public int getStripes() { return stripes; }
+    public void setStripes(int stripes) { this.stripes = stripes; }
+    
+    public List<Route> getRoutes() { return routes; }
+    public void setRoutes(List<Route> routes) { this.routes = routes; }
+    
+    public static class Route {
+        private String name;
+        private List<String> paths = new ArrayList<>();
+        private String method = "POST";
+        private int ipCapacity;
+        private int ipPerMinute;
+        private int usernameCapacity;
+        private int usernamePerMinute;
+        // JSON body field naming the account when the caller has no session token
+        private String usernameField = "username";
+        
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        
+        public List<String> getPaths() { return paths; }
+        public void setPaths(List<String> paths) { this.paths = paths; }
+        
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+        
+        public int getIpCapacity() { return ipCapacity; }
+        public void setIpCapacity(int ipCapacity) { this.ipCapacity = ipCapacity; }
+        
+        public int getIpPerMinute() { return ipPerMinute; }
+        public void setIpPerMinute(int ipPerMinute) { this.ipPerMinute = ipPerMinute; }
+        
+        public int getUsernameCapacity() { return usernameCapacity; }
+        public void setUsernameCapacity(int usernameCapacity) { this.usernameCapacity = usernameCapacity; }
+        
+        public int getUsernamePerMinute() { return usernamePerMinute; }
+        public void setUsernamePerMinute(int usernamePerMinute) { this.usernamePerMinute = usernamePerMinute; }
+        
+        public String getUsernameField() { return usernameField; }
+        public void setUsernameField(String usernameField) { this.usernameField = usernameField; }
+    }
+}
@@ -0,0 +1,63 @@
+package com.examly.springapp.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Registration writes rely on uk_registrations_user_event to reject duplicates, but
+// ddl-auto=update only logs it when the constraint cannot be added over existing
+// duplicate rows. Startup fails until the constraint exists; removing the duplicates is a
+// reviewed, one-off job (database_dedup_registrations.sql), never something the app does
+// to production data on its own.
+@Component
+@DependsOn("entityManagerFactory")
+public class RegistrationConstraintInitializer {
+    
+    private static final String TABLE = "user_event_registrations";
+    private static final Set<String> COLUMNS = Set.of("username", "event_id");
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @PostConstruct
+    public void checkUniqueRegistrations() {
+        if (!hasUniqueIndex()) {
+            throw new IllegalStateException("Unique constraint on " + TABLE + " (username, event_id) is missing; "
+                + "remove duplicate registrations with database_dedup_registrations.sql so it can be added");
+        }
+    }
+    
+    private boolean hasUniqueIndex() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Identifier case depends on the database, so both spellings are tried
+            for (String table : new String[] {TABLE, TABLE.toUpperCase(Locale.ROOT)}) {
+                Map<String, Set<String>> columnsByIndex = new HashMap<>();
+                try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, true, false)) {
+                    while (indexes.next()) {
+                        String column = indexes.getString("COLUMN_NAME");
+                        if (column != null) {
+                            columnsByIndex.computeIfAbsent(indexes.getString("INDEX_NAME"), name -> new HashSet<>())
+                                .add(column.toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+                if (columnsByIndex.containsValue(COLUMNS)) {
+                    return true;
+                }
+            }
+            return false;
+        }));
+    }
+}
@@ -1,21 +1,49 @@
 package com.examly.springapp.config;
 
+import com.examly.springapp.security.RateLimitFilter;
+import com.examly.springapp.security.RateLimiter;
+import com.examly.springapp.security.TokenAuthenticationFilter;
+import com.examly.springapp.security.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
+    // Sessions are stateless: every request authenticates from its bearer token, never the database.
+    // Rate limiting runs after authentication so signed-in callers are throttled by account.
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokenService, RateLimiter rateLimiter,
+                                           ObjectMapper objectMapper) throws Exception {
         http.csrf().disable()
+            .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            .and()
+            .exceptionHandling().authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            .and()
+            .addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper), TokenAuthenticationFilter.class)
             .authorizeHttpRequests(authz -> authz
+                .antMatchers("/api/auth/me").authenticated()
+                // Door tickets go to their holder or event staff; only staff scan them
+                .antMatchers(HttpMethod.GET, "/api/event-registrations/ticket/**").authenticated()
+                .antMatchers(HttpMethod.POST, "/api/event-registrations/check-in/**").hasAnyRole("ORGANIZER", "ADMIN")
+                .antMatchers(HttpMethod.GET, "/api/event-registrations/event/*/export").hasAnyRole("ORGANIZER", "ADMIN")
+                .antMatchers("/api/admin/**").hasRole("ADMIN")
+                .antMatchers("/api/event-registrations/holds", "/api/event-registrations/holds/**").authenticated()
                 .anyRequest().permitAll()
             );
         return http.build();
     }
-}
\ No newline at end of file
+}
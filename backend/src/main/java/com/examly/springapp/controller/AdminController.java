@@ -4,15 +4,32 @@ import com.examly.springapp.dto.AnalyticsDTO;
 import com.examly.springapp.model.User;
 import com.examly.springapp.model.Event;
 import com.examly.springapp.model.AuditLog;
+import com.examly.springapp.security.RateLimiter;
+import com.examly.springapp.service.AdmissionQueueService;
 import com.examly.springapp.service.AnalyticsService;
+import com.examly.springapp.service.AuthService;
 import com.examly.springapp.service.UserService;
 import com.examly.springapp.service.EventService;
 import com.examly.springapp.service.AuditService;
+import com.examly.springapp.service.ExportService;
+import com.examly.springapp.service.RegistrationMembershipIndex;
+import com.examly.springapp.service.PasswordResetTokenService;
+import com.examly.springapp.service.SeatHoldService;
+import com.examly.springapp.service.UserCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -24,18 +41,60 @@ public class AdminController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private AuthService authService;
+    
     @Autowired
     private EventService eventService;
     
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private AdmissionQueueService admissionQueueService;
+    
+    @Autowired
+    private UserCacheService userCacheService;
+    
+    @Autowired
+    private PasswordResetTokenService passwordResetTokenService;
+    
+    @Autowired
+    private RateLimiter rateLimiter;
+    
+    @Autowired
+    private RegistrationMembershipIndex registrationMembershipIndex;
+    
+    @Autowired
+    private SeatHoldService seatHoldService;
+    
     @GetMapping("/users")
     public ResponseEntity<List<User>> getAllUsers() {
         List<User> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
     
+    // Creates organizers and admins; public signup always yields participants
+    @PostMapping("/users")
+    public CompletableFuture<ResponseEntity<?>> createUser(@RequestBody User user) {
+        if (userCacheService.existsByUsername(user.getUsername())) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("error", "Username already exists")));
+        }
+        if (userCacheService.existsByEmail(user.getEmail())) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("error", "Email already registered")));
+        }
+        User.Role role = user.getRole() == null ? User.Role.PARTICIPANT : user.getRole();
+        return authService.createWithRole(user, role).thenApply(ResponseEntity::ok);
+    }
+    
     @DeleteMapping("/users/{id}")
     public ResponseEntity<String> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
+        if (!userService.deleteUser(id)) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.ok("User deleted successfully");
     }
     
@@ -45,6 +104,24 @@ public class AdminController {
         return ResponseEntity.ok(events);
     }
     
+    @GetMapping(value = "/export/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = out -> exportService.writeUsers(out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    @GetMapping(value = "/export/events", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents() {
+        StreamingResponseBody body = out -> exportService.writeEvents(out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    @GetMapping(value = "/export/registrations", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportRegistrations() {
+        StreamingResponseBody body = out -> exportService.writeRegistrations(null, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     @GetMapping("/audit")
     public ResponseEntity<String> getAuditLogs() {
         return ResponseEntity.ok("Audit logs data");
@@ -55,4 +132,62 @@ public class AdminController {
         AnalyticsDTO analytics = analyticsService.getAnalytics();
         return ResponseEntity.ok(analytics);
     }
+    
+    @GetMapping("/admission")
+    public ResponseEntity<Map<Long, Map<String, Object>>> getAdmissionQueues() {
+        return ResponseEntity.ok(admissionQueueService.getQueueStats());
+    }
+    
+    @PutMapping("/admission/{eventId}")
+    public ResponseEntity<Map<String, Object>> setAdmissionControl(@PathVariable Long eventId, @RequestParam boolean enabled) {
+        if (enabled) {
+            admissionQueueService.enable(eventId);
+        } else {
+            admissionQueueService.disable(eventId);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("eventId", eventId);
+        response.put("enabled", admissionQueueService.isEnabled(eventId));
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/registration-index")
+    public ResponseEntity<Map<String, Object>> getRegistrationIndexStats() {
+        return ResponseEntity.ok(registrationMembershipIndex.getStats());
+    }
+    
+    @GetMapping("/seat-holds")
+    public ResponseEntity<Map<String, Object>> getSeatHoldStats() {
+        return ResponseEntity.ok(seatHoldService.getStats());
+    }
+    
+    @GetMapping("/password-resets")
+    public ResponseEntity<Map<String, Object>> getPasswordResetStats() {
+        return ResponseEntity.ok(passwordResetTokenService.getStats());
+    }
+    
+    @GetMapping("/rate-limits")
+    public ResponseEntity<Map<String, Object>> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimiter.getStats());
+    }
+    
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache) {
+                Cache<Object, Object> nativeCache = ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                Map<String, Object> cacheStats = new HashMap<>();
+                cacheStats.put("size", nativeCache.estimatedSize());
+                cacheStats.put("hits", stats.hitCount());
+                cacheStats.put("misses", stats.missCount());
+                cacheStats.put("hitRate", stats.hitRate());
+                cacheStats.put("evictions", stats.evictionCount());
+                response.put(name, cacheStats);
+            }
+        }
+        response.put("users", userCacheService.getStats());
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
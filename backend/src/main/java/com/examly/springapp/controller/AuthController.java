@@ -1,10 +1,17 @@
 package com.examly.springapp.controller;
 
 import com.examly.springapp.model.User;
+import com.examly.springapp.security.TokenClaims;
+import com.examly.springapp.security.TokenService;
 import com.examly.springapp.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -14,18 +21,31 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private TokenService tokenService;
+    
+    // The session token comes back in the Authorization header; send it as "Bearer <token>"
     @PostMapping("/login")
-    public ResponseEntity<User> login(@RequestBody User loginRequest) {
-        User user = authService.authenticate(loginRequest.getUsername(), loginRequest.getPassword());
-        if (user != null) {
-            return ResponseEntity.ok(user);
-        }
-        return ResponseEntity.status(401).build();
+    public CompletableFuture<ResponseEntity<User>> login(@RequestBody User loginRequest) {
+        return authService.authenticate(loginRequest.getUsername(), loginRequest.getPassword())
+            .thenApply(user -> user != null
+                ? ResponseEntity.ok().header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(user)).body(user)
+                : ResponseEntity.status(401).<User>build());
+    }
+    
+    // Answered from the token's claims alone
+    @GetMapping("/me")
+    public ResponseEntity<Map<String, Object>> me(@AuthenticationPrincipal TokenClaims claims) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("username", claims.getUsername());
+        response.put("userId", claims.getUserId());
+        response.put("role", claims.getRole());
+        response.put("expiresAt", claims.getExpiresAt());
+        return ResponseEntity.ok(response);
     }
     
     @PostMapping("/register")
-    public ResponseEntity<User> register(@RequestBody User user) {
-        User savedUser = authService.register(user);
-        return ResponseEntity.ok(savedUser);
+    public CompletableFuture<ResponseEntity<User>> register(@RequestBody User user) {
+        return authService.register(user).thenApply(ResponseEntity::ok);
     }
-}
\ No newline at end of file
+}
@@ -2,9 +2,11 @@ package com.examly.springapp.controller;
 
 import com.examly.springapp.model.Category;
 import com.examly.springapp.repository.CategoryRepository;
+import com.examly.springapp.service.CollectionVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -18,9 +20,15 @@ public class CategoryController {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
     @GetMapping
-    public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+    public ResponseEntity<List<Category>> getAllCategories(WebRequest request) {
+        if (collectionVersionService.checkNotModified(request, CollectionVersionService.CATEGORIES)) {
+            return null;
+        }
+        return ResponseEntity.ok(categoryRepository.findAll());
     }
 
     @PostMapping
@@ -34,6 +42,7 @@ public class CategoryController {
         }
         
         Category savedCategory = categoryRepository.save(category);
+        collectionVersionService.bump(CollectionVersionService.CATEGORIES);
         response.put("success", true);
         response.put("category", savedCategory);
         return ResponseEntity.ok(response);
@@ -45,6 +54,7 @@ public class CategoryController {
         
         if (categoryRepository.existsById(id)) {
             categoryRepository.deleteById(id);
+            collectionVersionService.bump(CollectionVersionService.CATEGORIES);
             response.put("success", true);
             response.put("message", "Category deleted successfully");
             return ResponseEntity.ok(response);
@@ -1,11 +1,26 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.EventFilter;
+import com.examly.springapp.dto.EventSearchResult;
+import com.examly.springapp.dto.NearbyEvent;
+import com.examly.springapp.exception.ValidationException;
 import com.examly.springapp.model.Event;
 import com.examly.springapp.repository.EventRepository;
+import com.examly.springapp.service.CollectionVersionService;
+import com.examly.springapp.service.EventDateIndex;
+import com.examly.springapp.service.EventFacetService;
+import com.examly.springapp.service.EventGeoIndex;
+import com.examly.springapp.service.EventSearchService;
+import com.examly.springapp.service.EventService;
+import com.examly.springapp.util.Constants;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -16,40 +31,142 @@ public class EventController {
     @Autowired
     private EventRepository eventRepository;
     
+    @Autowired
+    private EventService eventService;
+    
+    @Autowired
+    private EventSearchService eventSearchService;
+    
+    @Autowired
+    private EventDateIndex eventDateIndex;
+    
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+    
+    @Autowired
+    private EventFacetService eventFacetService;
+    
+    @Autowired
+    private EventGeoIndex eventGeoIndex;
+    
+    // Without limit/cursor the full list is returned, as before
     @GetMapping
-    public List<Event> getAllEvents() {
-        return eventRepository.findAll();
+    public ResponseEntity<?> getAllEvents(@RequestParam(required = false) Integer limit,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(listEvents(null, limit, cursor, fields));
     }
     
     @GetMapping("/approved")
-    public List<Event> getApprovedEvents() {
-        return eventRepository.findByStatusOrderByCreatedAtDesc(Event.Status.APPROVED);
+    public ResponseEntity<?> getApprovedEvents(@RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) String fields,
+                                               WebRequest request) {
+        if (collectionVersionService.checkNotModified(request, CollectionVersionService.EVENTS)) {
+            return null;
+        }
+        return ResponseEntity.ok(listEvents(Event.Status.APPROVED, limit, cursor, fields));
     }
     
     @GetMapping("/pending")
-    public List<Event> getPendingEvents() {
-        return eventRepository.findByStatusOrderByCreatedAtDesc(Event.Status.PENDING);
+    public ResponseEntity<?> getPendingEvents(@RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(listEvents(Event.Status.PENDING, limit, cursor, fields));
+    }
+    
+    // status defaults to APPROVED; pass status=ALL to search every event
+    @GetMapping("/search")
+    public List<EventSearchResult> searchEvents(@RequestParam("q") String query,
+                                                @RequestParam(required = false) String status,
+                                                @RequestParam(required = false) Integer limit) {
+        return eventSearchService.search(query, parseStatusFilter(status), limit);
+    }
+    
+    // Approved events come from the in-memory date index, other statuses from the database;
+    // both match category case-insensitively
+    @GetMapping("/calendar")
+    public List<Event> getEventsBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                        @RequestParam(required = false) String category,
+                                        @RequestParam(required = false) String status) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("'from' must not be after 'to'");
+        }
+        Event.Status statusFilter = parseStatusFilter(status);
+        if (statusFilter == null) {
+            throw new ValidationException("Calendar queries need a single status");
+        }
+        if (statusFilter == Event.Status.APPROVED) {
+            return eventDateIndex.findBetween(from, to, category);
+        }
+        return category == null
+            ? eventRepository.findByStatusAndDateBetweenOrderByDateAscTimeAsc(statusFilter, from, to)
+            : eventRepository.findByStatusAndCategoryIgnoreCaseAndDateBetweenOrderByDateAscTimeAsc(statusFilter, category, from, to);
+    }
+    
+    // Filtered keyset page plus category/status/month/organizer counts for the same filter
+    @GetMapping("/facets")
+    public Map<String, Object> getFacetedEvents(@RequestParam(required = false) String status,
+                                                @RequestParam(required = false) String category,
+                                                @RequestParam(required = false) String organizer,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                @RequestParam(required = false) Integer limit,
+                                                @RequestParam(required = false) String cursor) {
+        EventFilter filter = new EventFilter();
+        filter.setStatus(parseStatusFilter(status));
+        filter.setCategory(category);
+        filter.setOrganizerName(organizer);
+        filter.setFrom(from);
+        filter.setTo(to);
+        return eventFacetService.getFacetedPage(filter, cursor, limit);
+    }
+    
+    // Approved events within radiusKm of a point, nearest first
+    @GetMapping("/nearby")
+    public List<NearbyEvent> getNearbyEvents(@RequestParam double lat,
+                                             @RequestParam double lng,
+                                             @RequestParam(defaultValue = "5") double radiusKm,
+                                             @RequestParam(required = false) Integer limit) {
+        return eventGeoIndex.findNearby(lat, lng, radiusKm, clampLimit(limit));
+    }
+    
+    // Approved events inside a bounding box, e.g. the visible map viewport
+    @GetMapping("/within")
+    public List<Event> getEventsWithin(@RequestParam double minLat,
+                                       @RequestParam double minLng,
+                                       @RequestParam double maxLat,
+                                       @RequestParam double maxLng,
+                                       @RequestParam(required = false) Integer limit) {
+        return eventGeoIndex.findWithin(minLat, minLng, maxLat, maxLng, clampLimit(limit));
     }
     
     @GetMapping("/organizer/{organizerName}")
-    public List<Event> getEventsByOrganizer(@PathVariable String organizerName) {
-        return eventRepository.findByOrganizerName(organizerName);
+    public ResponseEntity<?> getEventsByOrganizer(@PathVariable String organizerName,
+                                                  @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(eventService.getEventColumns(null, organizerName, fields));
+        }
+        return ResponseEntity.ok(eventRepository.findByOrganizerName(organizerName));
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<Event> getEventById(@PathVariable Long id) {
-        Optional<Event> event = eventRepository.findById(id);
+        Optional<Event> event = eventService.getEventById(id);
         return event.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
     
     @PostMapping
     public Event createEvent(@RequestBody Event event) {
+        validateCoordinates(event);
         event.setStatus(Event.Status.PENDING);
-        return eventRepository.save(event);
+        return eventService.saveEvent(event);
     }
     
     @PutMapping("/{id}")
     public ResponseEntity<Event> updateEvent(@PathVariable Long id, @RequestBody Event eventDetails) {
+        validateCoordinates(eventDetails);
         Optional<Event> optionalEvent = eventRepository.findById(id);
         if (optionalEvent.isPresent()) {
             Event event = optionalEvent.get();
@@ -60,7 +177,10 @@ public class EventController {
             event.setLocation(eventDetails.getLocation());
             event.setCategory(eventDetails.getCategory());
             event.setContactNumber(eventDetails.getContactNumber());
-            return ResponseEntity.ok(eventRepository.save(event));
+            event.setLatitude(eventDetails.getLatitude());
+            event.setLongitude(eventDetails.getLongitude());
+            event.setCapacity(eventDetails.getCapacity());
+            return ResponseEntity.ok(eventService.saveEvent(event));
         }
         return ResponseEntity.notFound().build();
     }
@@ -74,7 +194,7 @@ public class EventController {
                 // Remove quotes if present and convert to uppercase
                 String cleanStatus = status.replace("\"", "").toUpperCase();
                 event.setStatus(Event.Status.valueOf(cleanStatus));
-                return ResponseEntity.ok(eventRepository.save(event));
+                return ResponseEntity.ok(eventService.saveEvent(event));
             }
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -84,10 +204,58 @@ public class EventController {
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEvent(@PathVariable Long id) {
-        if (eventRepository.existsById(id)) {
-            eventRepository.deleteById(id);
+        if (eventService.deleteEvent(id)) {
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.notFound().build();
     }
+    
+    // fields selects a sparse column set ("summary" or a comma list); limit/cursor switch to keyset pages
+    private Object listEvents(Event.Status status, Integer limit, String cursor, String fields) {
+        boolean paged = limit != null || cursor != null;
+        if (fields != null) {
+            return paged
+                ? eventService.getEventColumnPage(status, fields, cursor, limit)
+                : eventService.getEventColumns(status, null, fields);
+        }
+        if (paged) {
+            return eventService.getEventPage(status, cursor, limit);
+        }
+        if (status == null) {
+            return eventRepository.findAll();
+        }
+        return status == Event.Status.APPROVED
+            ? eventService.getApprovedEvents()
+            : eventRepository.findByStatusOrderByCreatedAtDesc(status);
+    }
+    
+    private int clampLimit(Integer limit) {
+        return limit == null || limit <= 0 ? Constants.DEFAULT_PAGE_SIZE : Math.min(limit, Constants.MAX_PAGE_SIZE);
+    }
+    
+    private Event.Status parseStatusFilter(String status) {
+        if (status == null || status.isEmpty()) {
+            return Event.Status.APPROVED;
+        }
+        if ("ALL".equalsIgnoreCase(status)) {
+            return null;
+        }
+        try {
+            return Event.Status.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown status: " + status);
+        }
+    }
+    
+    // Out-of-range coordinates would otherwise be stored and skew every radius search
+    private void validateCoordinates(Event event) {
+        Double latitude = event.getLatitude();
+        Double longitude = event.getLongitude();
+        if (latitude != null && (latitude < -90 || latitude > 90)) {
+            throw new ValidationException("latitude must be between -90 and 90");
+        }
+        if (longitude != null && (longitude < -180 || longitude > 180)) {
+            throw new ValidationException("longitude must be between -180 and 180");
+        }
+    }
 }
\ No newline at end of file
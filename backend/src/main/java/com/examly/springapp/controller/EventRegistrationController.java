@@ -1,14 +1,40 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.AdmissionTicket;
+import com.examly.springapp.dto.BulkRegistrationResult;
+import com.examly.springapp.dto.CheckInResult;
+import com.examly.springapp.dto.RegistrationResult;
+import com.examly.springapp.dto.SeatHold;
+import com.examly.springapp.exception.AdmissionQueueFullException;
+import com.examly.springapp.exception.CapacityExceededException;
+import com.examly.springapp.exception.ResourceNotFoundException;
+import com.examly.springapp.exception.ValidationException;
 import com.examly.springapp.model.EventRegistration;
 import com.examly.springapp.repository.EventRegistrationRepository;
+import com.examly.springapp.security.TokenClaims;
+import com.examly.springapp.service.AdmissionQueueService;
+import com.examly.springapp.service.AttendanceService;
+import com.examly.springapp.service.EventRegistrationService;
+import com.examly.springapp.service.ExportService;
+import com.examly.springapp.service.RegistrationCounterService;
+import com.examly.springapp.service.RegistrationMembershipIndex;
+import com.examly.springapp.service.SeatCounterService;
+import com.examly.springapp.service.SeatHoldService;
+import com.examly.springapp.service.WaitlistService;
+import com.examly.springapp.util.Constants;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/event-registrations")
@@ -18,6 +44,33 @@ public class EventRegistrationController {
     @Autowired
     private EventRegistrationRepository eventRegistrationRepository;
 
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+
+    @Autowired
+    private SeatCounterService seatCounterService;
+
+    @Autowired
+    private RegistrationCounterService registrationCounterService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private AdmissionQueueService admissionQueueService;
+
+    @Autowired
+    private RegistrationMembershipIndex registrationMembershipIndex;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
     @PostMapping("/register")
     public ResponseEntity<Map<String, Object>> registerForEvent(@RequestBody Map<String, Object> requestData) {
         Map<String, Object> response = new HashMap<>();
@@ -26,18 +79,40 @@ public class EventRegistrationController {
             String username = (String) requestData.get("username");
             Long eventId = Long.valueOf(requestData.get("eventId").toString());
             
-            if (eventRegistrationRepository.existsByUsernameAndEventId(username, eventId)) {
-                response.put("success", false);
-                response.put("message", "Already registered for this event");
-                return ResponseEntity.badRequest().body(response);
+            AdmissionTicket ticket = admissionQueueService.admit(username, eventId);
+            if (ticket != null) {
+                response.put("success", true);
+                response.put("queued", true);
+                response.put("admissionTicket", ticket);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
             }
             
-            EventRegistration registration = new EventRegistration(username, eventId);
-            EventRegistration savedRegistration = eventRegistrationRepository.save(registration);
+            RegistrationResult result = eventRegistrationService.register(username, eventId);
             
             response.put("success", true);
-            response.put("registration", savedRegistration);
+            if (result.isWaitlisted()) {
+                response.put("waitlisted", true);
+                response.put("position", result.getWaitlistPosition());
+                response.put("message", "Event is full; added to the waitlist");
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+            }
+            response.put("registration", result.getRegistration());
+            response.put("doorTicket", attendanceService.issueTicket(result.getRegistration()));
+            if (!result.isCreated()) {
+                response.put("alreadyRegistered", true);
+                response.put("message", "Already registered for this event");
+            }
             return ResponseEntity.ok(response);
+        } catch (AdmissionQueueFullException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+        } catch (CapacityExceededException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
         } catch (Exception e) {
             response.put("success", false);
             response.put("message", "Registration failed: " + e.getMessage());
@@ -45,6 +120,171 @@ public class EventRegistrationController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> bulkRegister(@RequestBody List<EventRegistration> registrations) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            BulkRegistrationResult result = eventRegistrationService.bulkRegister(registrations);
+            response.put("created", result.getCreated());
+            response.put("alreadyRegistered", result.getAlreadyRegistered());
+            response.put("rejected", result.getRejected());
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (ValidationException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Bulk registration failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @GetMapping("/admission/{ticketId}")
+    public ResponseEntity<AdmissionTicket> getAdmissionTicket(@PathVariable String ticketId) {
+        AdmissionTicket ticket = admissionQueueService.getTicket(ticketId);
+        if (ticket == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ticket);
+    }
+
+    @PostMapping("/holds")
+    // Holds belong to the signed-in user; a username in the body is ignored
+    public ResponseEntity<Map<String, Object>> holdSeat(@RequestBody Map<String, Object> requestData,
+                                                        @AuthenticationPrincipal TokenClaims claims) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            String username = claims.getUsername();
+            Long eventId = requestData.get("eventId") == null ? null : Long.valueOf(requestData.get("eventId").toString());
+            SeatHold hold = seatHoldService.hold(username, eventId);
+            response.put("success", true);
+            response.put("hold", hold);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (CapacityExceededException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Hold failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @GetMapping("/holds/{holdId}")
+    public ResponseEntity<SeatHold> getSeatHold(@PathVariable String holdId, @AuthenticationPrincipal TokenClaims claims) {
+        SeatHold hold = seatHoldService.getHold(holdId, claims.getUsername());
+        if (hold == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(hold);
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<Map<String, Object>> confirmSeatHold(@PathVariable String holdId, @AuthenticationPrincipal TokenClaims claims) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            RegistrationResult result = seatHoldService.confirm(holdId, claims.getUsername());
+            response.put("success", true);
+            response.put("registration", result.getRegistration());
+            response.put("doorTicket", attendanceService.issueTicket(result.getRegistration()));
+            if (!result.isCreated()) {
+                response.put("alreadyRegistered", true);
+                response.put("message", "Already registered for this event");
+            }
+            return ResponseEntity.ok(response);
+        } catch (ResourceNotFoundException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Confirmation failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Map<String, Object>> releaseSeatHold(@PathVariable String holdId, @AuthenticationPrincipal TokenClaims claims) {
+        Map<String, Object> response = new HashMap<>();
+        boolean released = seatHoldService.release(holdId, claims.getUsername());
+        response.put("success", released);
+        response.put("message", released ? "Seat hold released" : "Seat hold not found or expired");
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/ticket/{username}/{eventId}")
+    public ResponseEntity<Map<String, Object>> getTicket(@PathVariable String username, @PathVariable Long eventId,
+                                                         @AuthenticationPrincipal TokenClaims claims) {
+        if (!username.equals(claims.getUsername())
+                && !Constants.ROLE_ORGANIZER.equals(claims.getRole())
+                && !Constants.ROLE_ADMIN.equals(claims.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Optional<EventRegistration> registration = eventRegistrationRepository.findByUsernameAndEventId(username, eventId);
+        if (!registration.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("registrationId", registration.get().getId());
+        response.put("doorTicket", attendanceService.issueTicket(registration.get()));
+        return ResponseEntity.ok(response);
+    }
+
+    // Scanners may buffer scans and send them together when the link is slow
+    @PostMapping("/check-in/{eventId}")
+    public ResponseEntity<Map<String, Object>> checkIn(@PathVariable Long eventId, @RequestBody Map<String, List<String>> requestData) {
+        Map<String, Object> response = new HashMap<>();
+        List<String> tickets = requestData.get("tickets");
+        if (tickets == null || tickets.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "No tickets to check in");
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            List<CheckInResult> results = attendanceService.checkIn(eventId, tickets);
+            response.put("success", true);
+            response.put("results", results);
+            response.put("admitted", results.stream().filter(CheckInResult::isAdmitted).count());
+            return ResponseEntity.ok(response);
+        } catch (ValidationException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @GetMapping("/attendance/{eventId}")
+    public ResponseEntity<Map<String, Object>> getAttendance(@PathVariable Long eventId) {
+        Map<String, Object> response = attendanceService.getAttendance(eventId);
+        response.put("registered", registrationCounterService.getEventCount(eventId));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/waitlist/{eventId}/{username}")
+    public ResponseEntity<Map<String, Object>> getWaitlistPosition(@PathVariable Long eventId, @PathVariable String username) {
+        Map<String, Object> response = new HashMap<>();
+        Optional<Long> position = waitlistService.position(username, eventId);
+        response.put("waitlisted", position.isPresent());
+        response.put("position", position.orElse(null));
+        response.put("waiting", waitlistService.countWaiting(eventId));
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/waitlist/{username}/{eventId}")
+    public ResponseEntity<Map<String, Object>> leaveWaitlist(@PathVariable String username, @PathVariable Long eventId) {
+        Map<String, Object> response = new HashMap<>();
+        boolean removed = waitlistService.leave(username, eventId);
+        response.put("success", removed);
+        response.put("message", removed ? "Removed from waitlist" : "Not on the waitlist");
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/user/{username}")
     public ResponseEntity<List<EventRegistration>> getUserRegistrations(@PathVariable String username) {
         List<EventRegistration> registrations = eventRegistrationRepository.findByUsername(username);
@@ -58,18 +298,28 @@ public class EventRegistrationController {
     }
 
 
+    @GetMapping(value = "/event/{eventId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEventRegistrations(@PathVariable Long eventId) {
+        StreamingResponseBody body = out -> exportService.writeRegistrations(eventId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 
     @GetMapping("/count/event/{eventId}")
     public ResponseEntity<Map<String, Long>> getEventRegistrationCount(@PathVariable Long eventId) {
-        Long count = eventRegistrationRepository.countByEventId(eventId);
+        Long count = registrationCounterService.getEventCount(eventId);
         Map<String, Long> response = new HashMap<>();
         response.put("count", count);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/availability/{eventId}")
+    public ResponseEntity<Map<String, Object>> getAvailability(@PathVariable Long eventId) {
+        return ResponseEntity.ok(seatCounterService.availability(eventId));
+    }
+
     @GetMapping("/count/organizer/{organizerUsername}")
     public ResponseEntity<Map<String, Long>> getOrganizerRegistrationCount(@PathVariable String organizerUsername) {
-        Long count = eventRegistrationRepository.countByOrganizerUsername(organizerUsername);
+        Long count = registrationCounterService.getOrganizerCount(organizerUsername);
         Map<String, Long> response = new HashMap<>();
         response.put("count", count);
         return ResponseEntity.ok(response);
@@ -77,25 +327,27 @@ public class EventRegistrationController {
 
     @GetMapping("/check/{username}/{eventId}")
     public ResponseEntity<Map<String, Boolean>> checkRegistration(@PathVariable String username, @PathVariable Long eventId) {
-        boolean isRegistered = eventRegistrationRepository.existsByUsernameAndEventId(username, eventId);
+        boolean isRegistered = registrationMembershipIndex.isRegistered(username, eventId);
         Map<String, Boolean> response = new HashMap<>();
         response.put("isRegistered", isRegistered);
         return ResponseEntity.ok(response);
     }
 
+    // Batched form for event lists: /check/{username}?eventIds=1,2,3
+    @GetMapping("/check/{username}")
+    public ResponseEntity<Map<Long, Boolean>> checkRegistrations(@PathVariable String username, @RequestParam List<Long> eventIds) {
+        if (eventIds.size() > Constants.MAX_PAGE_SIZE) {
+            throw new ValidationException("At most " + Constants.MAX_PAGE_SIZE + " eventIds per request");
+        }
+        return ResponseEntity.ok(registrationMembershipIndex.areRegistered(username, eventIds));
+    }
+
     @DeleteMapping("/unregister/{username}/{eventId}")
     public ResponseEntity<Map<String, Object>> unregisterFromEvent(@PathVariable String username, @PathVariable Long eventId) {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            List<EventRegistration> registrations = eventRegistrationRepository.findByUsername(username);
-            EventRegistration toDelete = registrations.stream()
-                .filter(reg -> reg.getEventId().equals(eventId))
-                .findFirst()
-                .orElse(null);
-            
-            if (toDelete != null) {
-                eventRegistrationRepository.delete(toDelete);
+            if (eventRegistrationService.unregister(username, eventId)) {
                 response.put("success", true);
                 response.put("message", "Successfully unregistered from event");
             } else {
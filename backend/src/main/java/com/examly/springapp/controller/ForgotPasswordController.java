@@ -2,13 +2,16 @@ package com.examly.springapp.controller;
 
 import com.examly.springapp.model.User;
 import com.examly.springapp.repository.UserRepository;
+import com.examly.springapp.service.PasswordHashingService;
+import com.examly.springapp.service.PasswordResetTokenService;
+import com.examly.springapp.service.UserCacheService;
+import com.examly.springapp.util.ValidationUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/forgot-password")
@@ -18,18 +21,23 @@ public class ForgotPasswordController {
     @Autowired
     private UserRepository userRepository;
     
-    // Store reset tokens temporarily (in production, use Redis or database)
-    private Map<String, String> resetTokens = new HashMap<>();
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private UserCacheService userCacheService;
+    
+    @Autowired
+    private PasswordResetTokenService passwordResetTokenService;
     
     @PostMapping("/send-reset-link")
     public ResponseEntity<?> sendResetLink(@RequestBody Map<String, String> request) {
         String email = request.get("email");
         
-        Optional<User> user = userRepository.findByEmail(email);
+        Optional<User> user = userCacheService.findByEmail(email);
         if (user.isPresent()) {
             // Generate reset token
-            String resetToken = UUID.randomUUID().toString();
-            resetTokens.put(resetToken, email);
+            String resetToken = passwordResetTokenService.issue(email);
             
             // In production, send actual email here
             // For now, return the reset link
@@ -45,25 +53,32 @@ public class ForgotPasswordController {
     }
     
     @PostMapping("/reset-password")
-    public ResponseEntity<?> resetPassword(@RequestBody Map<String, String> request) {
+    public CompletableFuture<ResponseEntity<?>> resetPassword(@RequestBody Map<String, String> request) {
         String token = request.get("token");
         String newPassword = request.get("password");
         
-        String email = resetTokens.get(token);
-        if (email != null) {
-            Optional<User> user = userRepository.findByEmail(email);
-            if (user.isPresent()) {
-                User userEntity = user.get();
-                userEntity.setPassword(newPassword);
-                userRepository.save(userEntity);
-                
-                // Remove used token
-                resetTokens.remove(token);
-                
-                return ResponseEntity.ok(Map.of("message", "Password reset successfully"));
-            }
+        if (!ValidationUtils.isNotEmpty(newPassword)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("error", "Password is required")));
+        }
+        
+        // Checked without consuming first so a forged or stale link never costs a hash
+        if (!passwordResetTokenService.isValid(token)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("error", "Invalid or expired reset token")));
         }
         
-        return ResponseEntity.badRequest().body(Map.of("error", "Invalid or expired reset token"));
+        // The token is consumed only once the new hash is ready, so a busy hashing pool (503)
+        // leaves the link usable; the consume still stops a replayed or concurrent request
+        return passwordHashingService.hash(newPassword).thenApply(hash -> {
+            Optional<String> email = passwordResetTokenService.consume(token);
+            if (email.isPresent()) {
+                Optional<User> user = userRepository.findByEmail(email.get());
+                if (user.isPresent()) {
+                    user.get().setPassword(hash);
+                    userRepository.save(user.get());
+                    return ResponseEntity.ok(Map.of("message", "Password reset successfully"));
+                }
+            }
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid or expired reset token"));
+        });
     }
 }
\ No newline at end of file
@@ -2,13 +2,19 @@ package com.examly.springapp.controller;
 
 import com.examly.springapp.model.User;
 import com.examly.springapp.repository.UserRepository;
+import com.examly.springapp.security.TokenService;
+import com.examly.springapp.service.AuthService;
+import com.examly.springapp.service.UserCacheService;
+import com.examly.springapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/users")
@@ -18,6 +24,18 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private AuthService authService;
+    
+    @Autowired
+    private TokenService tokenService;
+    
+    @Autowired
+    private UserCacheService userCacheService;
+    
     @GetMapping
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -25,13 +43,13 @@ public class UserController {
     
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        Optional<User> user = userRepository.findById(id);
+        Optional<User> user = userCacheService.findById(id);
         return user.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/username/{username}")
     public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
-        Optional<User> user = userRepository.findByUsername(username);
+        Optional<User> user = userCacheService.findByUsername(username);
         return user.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
     
@@ -41,36 +59,36 @@ public class UserController {
     }
     
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@RequestBody User user) {
-        if (userRepository.existsByUsername(user.getUsername())) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@RequestBody User user) {
+        if (userCacheService.existsByUsername(user.getUsername())) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "Username already exists");
-            return ResponseEntity.badRequest().body(errorResponse);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(errorResponse));
         }
-        if (userRepository.existsByEmail(user.getEmail())) {
+        if (userCacheService.existsByEmail(user.getEmail())) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "Email already registered");
-            return ResponseEntity.badRequest().body(errorResponse);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(errorResponse));
         }
-        User savedUser = userRepository.save(user);
-        return ResponseEntity.ok(savedUser);
+        return authService.register(user).thenApply(ResponseEntity::ok);
     }
     
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody User loginRequest) {
-        Optional<User> user = userRepository.findByUsername(loginRequest.getUsername());
-        if (user.isPresent() && user.get().getPassword().equals(loginRequest.getPassword())) {
-            return ResponseEntity.ok(user.get());
-        }
-        
-        // Create proper JSON error response
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Invalid username or password");
-        return ResponseEntity.status(401).body(errorResponse);
+    public CompletableFuture<ResponseEntity<?>> loginUser(@RequestBody User loginRequest) {
+        return authService.authenticate(loginRequest.getUsername(), loginRequest.getPassword()).thenApply(user -> {
+            if (user != null) {
+                return ResponseEntity.ok().header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(user)).body(user);
+            }
+            
+            // Create proper JSON error response
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid username or password");
+            return ResponseEntity.status(401).body(errorResponse);
+        });
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
+    public CompletableFuture<ResponseEntity<User>> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
         Optional<User> optionalUser = userRepository.findById(id);
         if (optionalUser.isPresent()) {
             User user = optionalUser.get();
@@ -82,19 +100,18 @@ public class UserController {
                 user.setEmail(userDetails.getEmail());
             }
             if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
-                user.setPassword(userDetails.getPassword());
+                return authService.savePassword(user, userDetails.getPassword()).thenApply(ResponseEntity::ok);
             }
             
             User savedUser = userRepository.save(user);
-            return ResponseEntity.ok(savedUser);
+            return CompletableFuture.completedFuture(ResponseEntity.ok(savedUser));
         }
-        return ResponseEntity.notFound().build();
+        return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        if (userRepository.existsById(id)) {
-            userRepository.deleteById(id);
+        if (userService.deleteUser(id)) {
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.notFound().build();
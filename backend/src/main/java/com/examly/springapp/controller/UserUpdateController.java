@@ -2,10 +2,13 @@ package com.examly.springapp.controller;
 
 import com.examly.springapp.model.User;
 import com.examly.springapp.repository.UserRepository;
+import com.examly.springapp.service.AuthService;
+import com.examly.springapp.service.UserCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.transaction.annotation.Transactional;
 
 @RestController
@@ -16,16 +19,23 @@ public class UserUpdateController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserCacheService userCacheService;
+
     @PostMapping
-    public ResponseEntity<User> createUser(@RequestBody User user) {
+    public CompletableFuture<ResponseEntity<User>> createUser(@RequestBody User user) {
         try {
-            if (userRepository.existsByUsername(user.getUsername())) {
-                return ResponseEntity.ok().build();
+            if (userCacheService.existsByUsername(user.getUsername())) {
+                return CompletableFuture.completedFuture(ResponseEntity.ok().build());
             }
-            User savedUser = userRepository.save(user);
-            return ResponseEntity.ok(savedUser);
+            return authService.register(user)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> ResponseEntity.ok().build());
         } catch (Exception e) {
-            return ResponseEntity.ok().build();
+            return CompletableFuture.completedFuture(ResponseEntity.ok().build());
         }
     }
 
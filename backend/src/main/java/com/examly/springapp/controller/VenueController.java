@@ -2,9 +2,11 @@ package com.examly.springapp.controller;
 
 import com.examly.springapp.model.Venue;
 import com.examly.springapp.repository.VenueRepository;
+import com.examly.springapp.service.CollectionVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,14 +17,21 @@ public class VenueController {
     @Autowired
     private VenueRepository venueRepository;
     
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+    
     @PostMapping
     public ResponseEntity<Venue> createVenue(@RequestBody Venue venue) {
         Venue savedVenue = venueRepository.save(venue);
+        collectionVersionService.bump(CollectionVersionService.VENUES);
         return ResponseEntity.ok(savedVenue);
     }
     
     @GetMapping
-    public ResponseEntity<List<Venue>> getAllVenues() {
+    public ResponseEntity<List<Venue>> getAllVenues(WebRequest request) {
+        if (collectionVersionService.checkNotModified(request, CollectionVersionService.VENUES)) {
+            return null;
+        }
         List<Venue> venues = venueRepository.findAll();
         return ResponseEntity.ok(venues);
     }
@@ -37,12 +46,14 @@ public class VenueController {
     public ResponseEntity<Venue> updateVenue(@PathVariable Long id, @RequestBody Venue venue) {
         venue.setVenueId(id);
         Venue updatedVenue = venueRepository.save(venue);
+        collectionVersionService.bump(CollectionVersionService.VENUES);
         return ResponseEntity.ok(updatedVenue);
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteVenue(@PathVariable Long id) {
         venueRepository.deleteById(id);
+        collectionVersionService.bump(CollectionVersionService.VENUES);
         return ResponseEntity.ok("Venue deleted successfully");
     }
 }
\ No newline at end of file
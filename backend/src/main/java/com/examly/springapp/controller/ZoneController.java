@@ -2,9 +2,11 @@ package com.examly.springapp.controller;
 
 import com.examly.springapp.model.Zone;
 import com.examly.springapp.repository.ZoneRepository;
+import com.examly.springapp.service.CollectionVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,14 +17,21 @@ public class ZoneController {
     @Autowired
     private ZoneRepository zoneRepository;
     
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+    
     @PostMapping
     public ResponseEntity<Zone> createZone(@RequestBody Zone zone) {
         Zone savedZone = zoneRepository.save(zone);
+        collectionVersionService.bump(CollectionVersionService.ZONES);
         return ResponseEntity.ok(savedZone);
     }
     
     @GetMapping
-    public ResponseEntity<List<Zone>> getAllZones() {
+    public ResponseEntity<List<Zone>> getAllZones(WebRequest request) {
+        if (collectionVersionService.checkNotModified(request, CollectionVersionService.ZONES)) {
+            return null;
+        }
         List<Zone> zones = zoneRepository.findAll();
         return ResponseEntity.ok(zones);
     }
@@ -36,6 +45,7 @@ public class ZoneController {
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteZone(@PathVariable Long id) {
         zoneRepository.deleteById(id);
+        collectionVersionService.bump(CollectionVersionService.ZONES);
         return ResponseEntity.ok("Zone deleted successfully");
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.examly.springapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+public class AdmissionTicket {
+    
+    public enum Status {
+        QUEUED, REGISTERED, WAITLISTED, REJECTED
+    }
+    
+    private String ticketId;
+    private String username;
+    private Long eventId;
+    private volatile Status status = Status.QUEUED;
+    private volatile Long position;
+    private volatile Long registrationId;
+    private volatile String message;
+    private LocalDateTime queuedAt;
+    private volatile LocalDateTime completedAt;
+    @JsonIgnore
+    private long sequence;
+    
+    public AdmissionTicket() {}
+    
+    public AdmissionTicket(String ticketId, String username, Long eventId, long sequence) {
+        this.ticketId = ticketId;
+        this.username = username;
+        this.eventId = eventId;
+        this.sequence = sequence;
+        this.queuedAt = LocalDateTime.now();
+    }
+    
+    public String getTicketId() { return ticketId; }
+    public void setTicketId(String ticketId) { this.ticketId = ticketId; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    
+    public Long getPosition() { return position; }
+    public void setPosition(Long position) { this.position = position; }
+    
+    public Long getRegistrationId() { return registrationId; }
+    public void setRegistrationId(Long registrationId) { this.registrationId = registrationId; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    
+    public LocalDateTime getQueuedAt() { return queuedAt; }
+    public void setQueuedAt(LocalDateTime queuedAt) { this.queuedAt = queuedAt; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+    
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+}
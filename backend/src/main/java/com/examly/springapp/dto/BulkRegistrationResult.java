@@ -0,0 +1,24 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.EventRegistration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class BulkRegistrationResult {
+    private List<EventRegistration> created = new ArrayList<>();
+    private List<EventRegistration> alreadyRegistered = new ArrayList<>();
+    private List<Map<String, Object>> rejected = new ArrayList<>();
+    
+    public BulkRegistrationResult() {}
+    
+    public List<EventRegistration> getCreated() { return created; }
+    public void setCreated(List<EventRegistration> created) { this.created = created; }
+    
+    public List<EventRegistration> getAlreadyRegistered() { return alreadyRegistered; }
+    public void setAlreadyRegistered(List<EventRegistration> alreadyRegistered) { this.alreadyRegistered = alreadyRegistered; }
+    
+    public List<Map<String, Object>> getRejected() { return rejected; }
+    public void setRejected(List<Map<String, Object>> rejected) { this.rejected = rejected; }
+}
@@ -0,0 +1,34 @@
+package com.examly.springapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public class CheckInResult {
+    
+    public enum Status {
+        ADMITTED, ALREADY_CHECKED_IN, NOT_REGISTERED, WRONG_EVENT, INVALID
+    }
+    
+    private Status status;
+    private Long registrationId;
+    private String username;
+    
+    public CheckInResult() {}
+    
+    public CheckInResult(Status status, Long registrationId, String username) {
+        this.status = status;
+        this.registrationId = registrationId;
+        this.username = username;
+    }
+    
+    @JsonIgnore
+    public boolean isAdmitted() { return status == Status.ADMITTED; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    
+    public Long getRegistrationId() { return registrationId; }
+    public void setRegistrationId(Long registrationId) { this.registrationId = registrationId; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+}
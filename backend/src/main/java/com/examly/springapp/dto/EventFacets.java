@@ -0,0 +1,28 @@
+package com.examly.springapp.dto;
+
+import java.util.Map;
+
+public class EventFacets {
+    private long total;
+    private Map<String, Long> categories;
+    private Map<String, Long> statuses;
+    private Map<String, Long> months;
+    private Map<String, Long> organizers;
+    
+    public EventFacets() {}
+    
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    
+    public Map<String, Long> getCategories() { return categories; }
+    public void setCategories(Map<String, Long> categories) { this.categories = categories; }
+    
+    public Map<String, Long> getStatuses() { return statuses; }
+    public void setStatuses(Map<String, Long> statuses) { this.statuses = statuses; }
+    
+    public Map<String, Long> getMonths() { return months; }
+    public void setMonths(Map<String, Long> months) { this.months = months; }
+    
+    public Map<String, Long> getOrganizers() { return organizers; }
+    public void setOrganizers(Map<String, Long> organizers) { this.organizers = organizers; }
+}
@@ -0,0 +1,30 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.Event;
+import java.time.LocalDate;
+
+// Optional criteria for catalog queries; null fields are not filtered on
+public class EventFilter {
+    private Event.Status status;
+    private String category;
+    private String organizerName;
+    private LocalDate from;
+    private LocalDate to;
+    
+    public EventFilter() {}
+    
+    public Event.Status getStatus() { return status; }
+    public void setStatus(Event.Status status) { this.status = status; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public String getOrganizerName() { return organizerName; }
+    public void setOrganizerName(String organizerName) { this.organizerName = organizerName; }
+    
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+    
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+}
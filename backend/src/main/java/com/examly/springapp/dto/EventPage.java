@@ -0,0 +1,32 @@
+package com.examly.springapp.dto;
+
+import java.util.List;
+
+// T is Event for full pages, or a column map when a sparse fieldset was requested
+public class EventPage<T> {
+    private List<T> events;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+    
+    public EventPage() {}
+    
+    public EventPage(List<T> events, String nextCursor) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.size = events.size();
+    }
+    
+    public List<T> getEvents() { return events; }
+    public void setEvents(List<T> events) { this.events = events; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+}
@@ -0,0 +1,27 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.Event;
+import java.util.Map;
+
+public class EventSearchResult {
+    private Event event;
+    private double score;
+    private Map<String, String> highlights;
+    
+    public EventSearchResult() {}
+    
+    public EventSearchResult(Event event, double score, Map<String, String> highlights) {
+        this.event = event;
+        this.score = score;
+        this.highlights = highlights;
+    }
+    
+    public Event getEvent() { return event; }
+    public void setEvent(Event event) { this.event = event; }
+    
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+    
+    public Map<String, String> getHighlights() { return highlights; }
+    public void setHighlights(Map<String, String> highlights) { this.highlights = highlights; }
+}
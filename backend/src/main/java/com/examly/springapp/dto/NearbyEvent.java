@@ -0,0 +1,21 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.Event;
+
+public class NearbyEvent {
+    private Event event;
+    private double distanceKm;
+    
+    public NearbyEvent() {}
+    
+    public NearbyEvent(Event event, double distanceKm) {
+        this.event = event;
+        this.distanceKm = distanceKm;
+    }
+    
+    public Event getEvent() { return event; }
+    public void setEvent(Event event) { this.event = event; }
+    
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+}
@@ -0,0 +1,27 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.EventRegistration;
+
+public class RegistrationResult {
+    private EventRegistration registration;
+    private boolean created;
+    private Long waitlistPosition;
+    
+    public RegistrationResult() {}
+    
+    public RegistrationResult(EventRegistration registration, boolean created) {
+        this.registration = registration;
+        this.created = created;
+    }
+    
+    public EventRegistration getRegistration() { return registration; }
+    public void setRegistration(EventRegistration registration) { this.registration = registration; }
+    
+    public boolean isCreated() { return created; }
+    public void setCreated(boolean created) { this.created = created; }
+    
+    public boolean isWaitlisted() { return waitlistPosition != null; }
+    
+    public Long getWaitlistPosition() { return waitlistPosition; }
+    public void setWaitlistPosition(Long waitlistPosition) { this.waitlistPosition = waitlistPosition; }
+}
@@ -0,0 +1,62 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.util.HashedTimerWheel;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+public class SeatHold {
+    
+    public enum Status {
+        HELD, CONFIRMED, RELEASED, EXPIRED
+    }
+    
+    private String holdId;
+    private String username;
+    private Long eventId;
+    private volatile Status status = Status.HELD;
+    private LocalDateTime heldAt;
+    private LocalDateTime expiresAt;
+    @JsonIgnore
+    private HashedTimerWheel.Timeout<SeatHold> timeout;
+    
+    public SeatHold() {}
+    
+    public SeatHold(String holdId, String username, Long eventId, long durationMillis) {
+        this.holdId = holdId;
+        this.username = username;
+        this.eventId = eventId;
+        this.heldAt = LocalDateTime.now();
+        this.expiresAt = heldAt.plusNanos(durationMillis * 1_000_000L);
+    }
+    
+    // Moves a live hold to its final status; only the first caller wins
+    public synchronized boolean finish(Status outcome) {
+        if (status != Status.HELD) {
+            return false;
+        }
+        status = outcome;
+        return true;
+    }
+    
+    public String getHoldId() { return holdId; }
+    public void setHoldId(String holdId) { this.holdId = holdId; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    
+    public LocalDateTime getHeldAt() { return heldAt; }
+    public void setHeldAt(LocalDateTime heldAt) { this.heldAt = heldAt; }
+    
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    
+    public HashedTimerWheel.Timeout<SeatHold> getTimeout() { return timeout; }
+    public void setTimeout(HashedTimerWheel.Timeout<SeatHold> timeout) { this.timeout = timeout; }
+}
@@ -0,0 +1,7 @@
+package com.examly.springapp.exception;
+
+public class CapacityExceededException extends RuntimeException {
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
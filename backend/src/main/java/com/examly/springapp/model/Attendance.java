@@ -0,0 +1,61 @@
+package com.examly.springapp.model;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// One row per admitted ticket, keyed by its registration. Rows are only ever inserted,
+// so the entity reports itself new and saveAll persists without a select per row.
+@Entity
+@Table(name = "event_attendance", indexes = {
+    @Index(name = "idx_attendance_event", columnList = "eventId"),
+    @Index(name = "idx_attendance_username", columnList = "username")
+})
+public class Attendance implements Persistable<Long> {
+    @Id
+    private Long registrationId;
+    
+    @Column(nullable = false)
+    private Long eventId;
+    
+    @Column(nullable = false)
+    private String username;
+    
+    @Column(nullable = false)
+    private LocalDateTime checkedInAt;
+    
+    @Transient
+    private boolean persisted;
+    
+    public Attendance() {}
+    
+    public Attendance(Long registrationId, Long eventId, String username) {
+        this.registrationId = registrationId;
+        this.eventId = eventId;
+        this.username = username;
+        this.checkedInAt = LocalDateTime.now();
+    }
+    
+    @Override
+    public Long getId() { return registrationId; }
+    
+    @Override
+    public boolean isNew() { return !persisted; }
+    
+    @PostLoad
+    @PostPersist
+    void markPersisted() { this.persisted = true; }
+    
+    public Long getRegistrationId() { return registrationId; }
+    public void setRegistrationId(Long registrationId) { this.registrationId = registrationId; }
+    
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    
+    public LocalDateTime getCheckedInAt() { return checkedInAt; }
+    public void setCheckedInAt(LocalDateTime checkedInAt) { this.checkedInAt = checkedInAt; }
+}
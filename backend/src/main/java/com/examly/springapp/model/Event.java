@@ -6,7 +6,13 @@ import java.time.LocalTime;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_created", columnList = "createdAt, id"),
+    @Index(name = "idx_events_status_created", columnList = "status, createdAt, id"),
+    @Index(name = "idx_events_status_date", columnList = "status, date, time"),
+    @Index(name = "idx_events_organizer", columnList = "organizerName"),
+    @Index(name = "idx_events_category", columnList = "category")
+})
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +36,14 @@ public class Event {
     
     private String contactNumber;
     
+    // Optional coordinates (WGS84 degrees) for proximity search
+    private Double latitude;
+    
+    private Double longitude;
+    
+    // Maximum registrations; null falls back to the venue capacity, or unlimited
+    private Integer capacity;
+    
     @Column(nullable = false)
     private String organizerName;
     
@@ -70,6 +84,15 @@ public class Event {
     public String getContactNumber() { return contactNumber; }
     public void setContactNumber(String contactNumber) { this.contactNumber = contactNumber; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
+    
     public String getOrganizerName() { return organizerName; }
     public void setOrganizerName(String organizerName) { this.organizerName = organizerName; }
     
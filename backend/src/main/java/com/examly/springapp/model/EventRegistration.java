@@ -4,8 +4,14 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_event_registrations")
+@Table(name = "user_event_registrations", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_registrations_user_event", columnNames = {"username", "eventId"})
+}, indexes = {
+    @Index(name = "idx_registrations_event", columnList = "eventId")
+})
 public class EventRegistration {
+    // IDENTITY keeps Hibernate inserting row by row; bulk inserts go through
+    // EventRegistrationRepository.insertBatch instead
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
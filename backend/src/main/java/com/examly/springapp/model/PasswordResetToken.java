@@ -0,0 +1,54 @@
+package com.examly.springapp.model;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// Outstanding password reset, keyed by the SHA-256 of the emailed token so a leaked table
+// cannot be replayed. One row per email: a reissue replaces it, and use or expiry deletes it.
+@Entity
+@Table(name = "password_reset_tokens",
+    uniqueConstraints = @UniqueConstraint(name = "uk_reset_tokens_email", columnNames = "email"),
+    indexes = @Index(name = "idx_reset_tokens_expires", columnList = "expiresAt"))
+public class PasswordResetToken implements Persistable<String> {
+    @Id
+    @Column(length = 64)
+    private String tokenHash;
+    
+    @Column(nullable = false)
+    private String email;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Transient
+    private boolean persisted;
+    
+    public PasswordResetToken() {}
+    
+    public PasswordResetToken(String tokenHash, String email, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.email = email;
+        this.expiresAt = expiresAt;
+    }
+    
+    @Override
+    public String getId() { return tokenHash; }
+    
+    @Override
+    public boolean isNew() { return !persisted; }
+    
+    @PostLoad
+    @PostPersist
+    void markPersisted() { this.persisted = true; }
+    
+    public String getTokenHash() { return tokenHash; }
+    public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,22 @@
+package com.examly.springapp.model;
+
+import javax.persistence.*;
+
+// Materialized registration count, keyed "event:<id>" or "organizer:<name>"
+@Entity
+@Table(name = "registration_counters")
+public class RegistrationCounter {
+    @Id
+    private String counterKey;
+    
+    @Column(nullable = false)
+    private Long registrations;
+    
+    public RegistrationCounter() {}
+    
+    public String getCounterKey() { return counterKey; }
+    public void setCounterKey(String counterKey) { this.counterKey = counterKey; }
+    
+    public Long getRegistrations() { return registrations; }
+    public void setRegistrations(Long registrations) { this.registrations = registrations; }
+}
@@ -4,7 +4,10 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+    @Index(name = "idx_reviews_event", columnList = "event_id"),
+    @Index(name = "idx_reviews_username", columnList = "username")
+})
 public class Review {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,9 +1,16 @@
 package com.examly.springapp.model;
 
+import com.examly.springapp.service.UserCacheInvalidator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import javax.persistence.*;
 
 @Entity
-@Table(name = "users")
+@EntityListeners(UserCacheInvalidator.class)
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_email", columnList = "email"),
+    @Index(name = "idx_users_role", columnList = "role")
+})
 public class User {
     
     @Id
@@ -13,6 +20,8 @@ public class User {
     @Column(unique = true, nullable = false)
     private String username;
     
+    // Accepted on sign-up and login, never written back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String password;
     
@@ -3,7 +3,7 @@ package com.examly.springapp.model;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "venues")
+@Table(name = "venues", indexes = @Index(name = "idx_venues_name", columnList = "venueName"))
 public class Venue {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,48 @@
+package com.examly.springapp.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// Queue order is the id: entries are promoted lowest id first
+@Entity
+@Table(name = "event_waitlist", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_waitlist_user_event", columnNames = {"username", "eventId"})
+}, indexes = {
+    @Index(name = "idx_waitlist_event", columnList = "eventId, id")
+})
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String username;
+    
+    @Column(nullable = false)
+    private Long eventId;
+    
+    @Column(nullable = false)
+    private LocalDateTime joinedAt;
+    
+    public WaitlistEntry() {
+        this.joinedAt = LocalDateTime.now();
+    }
+    
+    public WaitlistEntry(String username, Long eventId) {
+        this.username = username;
+        this.eventId = eventId;
+        this.joinedAt = LocalDateTime.now();
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public LocalDateTime getJoinedAt() { return joinedAt; }
+    public void setJoinedAt(LocalDateTime joinedAt) { this.joinedAt = joinedAt; }
+}
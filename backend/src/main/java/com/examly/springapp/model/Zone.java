@@ -3,7 +3,7 @@ package com.examly.springapp.model;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "zones")
+@Table(name = "zones", indexes = @Index(name = "idx_zones_name", columnList = "name"))
 public class Zone {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,31 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.Attendance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+    
+    @Query("SELECT a.registrationId FROM Attendance a WHERE a.eventId = :eventId")
+    List<Long> findRegistrationIdsByEventId(@Param("eventId") Long eventId);
+    
+    Long countByEventId(Long eventId);
+    
+    // Bounded set-based deletes for cascade cleanup; each call is its own transaction
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM event_attendance WHERE event_id = :eventId LIMIT :limit", nativeQuery = true)
+    int deleteBatchByEventId(@Param("eventId") Long eventId, @Param("limit") int limit);
+    
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM event_attendance WHERE username = :username LIMIT :limit", nativeQuery = true)
+    int deleteBatchByUsername(@Param("username") String username, @Param("limit") int limit);
+}
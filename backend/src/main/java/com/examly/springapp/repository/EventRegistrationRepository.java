@@ -1,23 +1,65 @@
 package com.examly.springapp.repository;
 
 import com.examly.springapp.model.EventRegistration;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Long> {
+public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Long>, EventRegistrationRepositoryCustom {
     List<EventRegistration> findByUsername(String username);
+    List<EventRegistration> findByUsername(String username, Pageable pageable);
     List<EventRegistration> findByEventId(Long eventId);
 
     boolean existsByUsernameAndEventId(String username, Long eventId);
+    boolean existsByIdAndEventId(Long id, Long eventId);
+    Optional<EventRegistration> findByUsernameAndEventId(String username, Long eventId);
+    List<EventRegistration> findByEventIdAndUsernameIn(Long eventId, Collection<String> usernames);
+    
+    @Query("SELECT er.id FROM EventRegistration er WHERE er.username = :username AND er.eventId = :eventId")
+    Optional<Long> findIdByUsernameAndEventId(@Param("username") String username, @Param("eventId") Long eventId);
+    
+    // Direct delete by id; nothing is loaded first
+    @Modifying
+    @Query("DELETE FROM EventRegistration er WHERE er.id = :id")
+    int deleteRegistrationById(@Param("id") Long id);
+    
+    // Bounded set-based delete for cascade cleanup; each call is its own transaction
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM user_event_registrations WHERE event_id = :eventId LIMIT :limit", nativeQuery = true)
+    int deleteBatchByEventId(@Param("eventId") Long eventId, @Param("limit") int limit);
     
     @Query("SELECT COUNT(er) FROM EventRegistration er WHERE er.eventId = :eventId")
     Long countByEventId(@Param("eventId") Long eventId);
     
     @Query("SELECT COUNT(er) FROM EventRegistration er WHERE er.eventId IN (SELECT e.id FROM Event e WHERE e.organizerName = :organizerUsername)")
     Long countByOrganizerUsername(@Param("organizerUsername") String organizerUsername);
-}
\ No newline at end of file
+    
+    // Full aggregates for the counter reconciler
+    @Query("SELECT er.eventId, COUNT(er) FROM EventRegistration er GROUP BY er.eventId")
+    List<Object[]> countGroupedByEvent();
+    
+    @Query("SELECT e.organizerName, COUNT(er) FROM EventRegistration er, Event e WHERE er.eventId = e.id GROUP BY e.organizerName")
+    List<Object[]> countGroupedByOrganizer();
+    
+    // Cursor-backed reads for exports; must be consumed inside a transaction
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"), @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT er FROM EventRegistration er ORDER BY er.id")
+    Stream<EventRegistration> streamAll();
+    
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"), @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT er FROM EventRegistration er WHERE er.eventId = :eventId ORDER BY er.id")
+    Stream<EventRegistration> streamByEventId(@Param("eventId") Long eventId);
+}
@@ -0,0 +1,10 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.EventRegistration;
+import java.util.List;
+
+public interface EventRegistrationRepositoryCustom {
+    
+    // Inserts every row in one JDBC batch and sets the generated ids on the given objects
+    List<EventRegistration> insertBatch(List<EventRegistration> registrations);
+}
@@ -0,0 +1,52 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.EventRegistration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+// Registrations use IDENTITY ids, which stop Hibernate from batching inserts. Bulk inserts
+// therefore bypass the session and go to the driver as one batch; with
+// rewriteBatchedStatements on the MySQL URL that is a single multi-row INSERT. The
+// JdbcTemplate joins the surrounding JPA transaction's connection.
+public class EventRegistrationRepositoryImpl implements EventRegistrationRepositoryCustom {
+    
+    private static final String INSERT =
+        "INSERT INTO user_event_registrations (username, event_id, registration_date) VALUES (?, ?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public List<EventRegistration> insertBatch(List<EventRegistration> registrations) {
+        if (registrations.isEmpty()) {
+            return registrations;
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<EventRegistration>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                for (EventRegistration registration : registrations) {
+                    statement.setString(1, registration.getUsername());
+                    statement.setLong(2, registration.getEventId());
+                    statement.setTimestamp(3, Timestamp.valueOf(registration.getRegistrationDate()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (EventRegistration registration : registrations) {
+                        if (!keys.next()) {
+                            break;
+                        }
+                        registration.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return registrations;
+        });
+    }
+}
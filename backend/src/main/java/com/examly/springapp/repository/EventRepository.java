@@ -1,14 +1,21 @@
 package com.examly.springapp.repository;
 
 import com.examly.springapp.model.Event;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryCustom {
     List<Event> findByStatus(Event.Status status);
     List<Event> findByOrganizerName(String organizerName);
     List<Event> findByCategory(String category);
@@ -17,4 +24,24 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     
     @Query("SELECT e.organizerName as organizer, COUNT(e) as eventCount FROM Event e GROUP BY e.organizerName ORDER BY COUNT(e) DESC")
     List<Map<String, Object>> findTopOrganizers();
-}
\ No newline at end of file
+    
+    // Keyset pagination: first page plus seek queries on (createdAt DESC, id DESC).
+    // The redundant createdAt <= bound keeps the predicate index-range friendly.
+    List<Event> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+    List<Event> findByStatusOrderByCreatedAtDescIdDesc(Event.Status status, Pageable pageable);
+    
+    @Query("SELECT e FROM Event e WHERE e.createdAt <= :createdAt AND (e.createdAt < :createdAt OR e.id < :id) ORDER BY e.createdAt DESC, e.id DESC")
+    List<Event> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT e FROM Event e WHERE e.status = :status AND e.createdAt <= :createdAt AND (e.createdAt < :createdAt OR e.id < :id) ORDER BY e.createdAt DESC, e.id DESC")
+    List<Event> findPageByStatusAfter(@Param("status") Event.Status status, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    // Date-range lookups served by idx_events_status_date
+    List<Event> findByStatusAndDateBetweenOrderByDateAscTimeAsc(Event.Status status, LocalDate from, LocalDate to);
+    List<Event> findByStatusAndCategoryIgnoreCaseAndDateBetweenOrderByDateAscTimeAsc(Event.Status status, String category, LocalDate from, LocalDate to);
+    
+    // Cursor-backed read for exports; must be consumed inside a transaction
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"), @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT e FROM Event e ORDER BY e.id")
+    Stream<Event> streamAll();
+}
@@ -0,0 +1,23 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.dto.EventFilter;
+import com.examly.springapp.model.Event;
+import com.examly.springapp.util.EventCursor;
+import java.util.List;
+import java.util.Map;
+
+public interface EventRepositoryCustom {
+    
+    // Selects only the given columns, newest first; status, organizerName, after and maxResults are optional
+    List<Map<String, Object>> findProjected(List<String> fields, Event.Status status, String organizerName,
+                                            EventCursor after, Integer maxResults);
+    
+    // Newest-first keyset page of events matching the filter
+    List<Event> findFiltered(EventFilter filter, EventCursor after, int maxResults);
+    
+    // One (value, count) row per distinct value of the given field
+    List<Object[]> countByField(EventFilter filter, String field);
+    
+    // One (year, month, count) row per month with matching events
+    List<Object[]> countByMonth(EventFilter filter);
+}
@@ -0,0 +1,139 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.dto.EventFilter;
+import com.examly.springapp.model.Event;
+import com.examly.springapp.util.EventCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EventRepositoryImpl implements EventRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Map<String, Object>> findProjected(List<String> fields, Event.Status status, String organizerName,
+                                                   EventCursor after, Integer maxResults) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> root = query.from(Event.class);
+        
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections);
+        
+        EventFilter filter = new EventFilter();
+        filter.setStatus(status);
+        filter.setOrganizerName(organizerName);
+        List<Predicate> predicates = filterPredicates(cb, root, filter);
+        if (after != null) {
+            predicates.addAll(seekPredicates(cb, root, after));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+        
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (maxResults != null) {
+            typedQuery.setMaxResults(maxResults);
+        }
+        
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+    
+    @Override
+    public List<Event> findFiltered(EventFilter filter, EventCursor after, int maxResults) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+        
+        List<Predicate> predicates = filterPredicates(cb, root, filter);
+        if (after != null) {
+            predicates.addAll(seekPredicates(cb, root, after));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(maxResults).getResultList();
+    }
+    
+    @Override
+    public List<Object[]> countByField(EventFilter filter, String field) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Event> root = query.from(Event.class);
+        
+        query.multiselect(root.get(field), cb.count(root));
+        query.where(filterPredicates(cb, root, filter).toArray(new Predicate[0]));
+        query.groupBy(root.get(field));
+        return entityManager.createQuery(query).getResultList();
+    }
+    
+    @Override
+    public List<Object[]> countByMonth(EventFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Event> root = query.from(Event.class);
+        
+        Expression<Integer> year = cb.function("year", Integer.class, root.get("date"));
+        Expression<Integer> month = cb.function("month", Integer.class, root.get("date"));
+        query.multiselect(year, month, cb.count(root));
+        query.where(filterPredicates(cb, root, filter).toArray(new Predicate[0]));
+        query.groupBy(year, month);
+        return entityManager.createQuery(query).getResultList();
+    }
+    
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Event> root, EventFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+        }
+        if (filter.getCategory() != null) {
+            // Case-insensitive, like the calendar's category finder
+            predicates.add(cb.equal(cb.lower(root.get("category")), filter.getCategory().toLowerCase()));
+        }
+        if (filter.getOrganizerName() != null) {
+            predicates.add(cb.equal(root.get("organizerName"), filter.getOrganizerName()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.<LocalDate>get("date"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.<LocalDate>get("date"), filter.getTo()));
+        }
+        return predicates;
+    }
+    
+    // createdAt <= c AND (createdAt < c OR id < i): the leading bound keeps it an index range
+    private List<Predicate> seekPredicates(CriteriaBuilder cb, Root<Event> root, EventCursor after) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.lessThanOrEqualTo(root.<LocalDateTime>get("createdAt"), after.getCreatedAt()));
+        predicates.add(cb.or(
+            cb.lessThan(root.<LocalDateTime>get("createdAt"), after.getCreatedAt()),
+            cb.lessThan(root.<Long>get("id"), after.getId())));
+        return predicates;
+    }
+}
@@ -2,11 +2,15 @@ package com.examly.springapp.repository;
 
 import com.examly.springapp.model.NotificationSetting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface NotificationSettingRepository extends JpaRepository<NotificationSetting, Long> {
-    Optional<NotificationSetting> findByUserId(Long userId);
+    // Explicit JPQL filters on the user_id FK column; the derived query joined users and scanned this table
+    @Query("SELECT ns FROM NotificationSetting ns WHERE ns.user.id = :userId")
+    Optional<NotificationSetting> findByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.PasswordResetToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, String> {
+    
+    // The delete count decides which of several concurrent consumers gets the token
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PasswordResetToken t WHERE t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+    
+    // Swaps in a new token for the email's row; 0 when the email has none yet
+    @Modifying
+    @Transactional
+    @Query("UPDATE PasswordResetToken t SET t.tokenHash = :tokenHash, t.expiresAt = :expiresAt WHERE t.email = :email")
+    int replaceByEmail(@Param("email") String email, @Param("tokenHash") String tokenHash,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM password_reset_tokens WHERE expires_at <= :now LIMIT :limit", nativeQuery = true)
+    int deleteBatchExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
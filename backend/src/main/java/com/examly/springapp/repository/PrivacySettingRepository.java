@@ -2,8 +2,12 @@ package com.examly.springapp.repository;
 
 import com.examly.springapp.model.PrivacySetting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 
 public interface PrivacySettingRepository extends JpaRepository<PrivacySetting, Long> {
-    Optional<PrivacySetting> findByUserId(Long userId);
+    // Explicit JPQL filters on the user_id FK column; the derived query joined users and scanned this table
+    @Query("SELECT ps FROM PrivacySetting ps WHERE ps.user.id = :userId")
+    Optional<PrivacySetting> findByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
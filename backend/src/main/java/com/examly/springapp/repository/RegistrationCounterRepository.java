@@ -0,0 +1,18 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.RegistrationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RegistrationCounterRepository extends JpaRepository<RegistrationCounter, String> {
+    
+    // Single-statement upsert so concurrent first registrations never race on the insert
+    @Modifying
+    @Query(value = "INSERT INTO registration_counters (counter_key, registrations) VALUES (:counterKey, :delta) " +
+            "ON DUPLICATE KEY UPDATE registrations = registrations + :delta", nativeQuery = true)
+    int increment(@Param("counterKey") String counterKey, @Param("delta") long delta);
+}
@@ -2,11 +2,26 @@ package com.examly.springapp.repository;
 
 import com.examly.springapp.model.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByEventId(String eventId);
     List<Review> findByUsername(String username);
+    
+    // Bounded set-based deletes for cascade cleanup; each call is its own transaction
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM reviews WHERE event_id = :eventId LIMIT :limit", nativeQuery = true)
+    int deleteBatchByEventId(@Param("eventId") String eventId, @Param("limit") int limit);
+    
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM reviews WHERE username = :username LIMIT :limit", nativeQuery = true)
+    int deleteBatchByUsername(@Param("username") String username, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -2,8 +2,12 @@ package com.examly.springapp.repository;
 
 import com.examly.springapp.model.UserProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 
 public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
-    Optional<UserProfile> findByUserId(Long userId);
+    // Explicit JPQL filters on the user_id FK column; the derived query joined users and scanned this table
+    @Query("SELECT up FROM UserProfile up WHERE up.user.id = :userId")
+    Optional<UserProfile> findByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+    Optional<WaitlistEntry> findByUsernameAndEventId(String username, Long eventId);
+    List<WaitlistEntry> findTop5ByEventIdOrderByIdAsc(Long eventId);
+    boolean existsByEventId(Long eventId);
+    long countByEventId(Long eventId);
+    long countByEventIdAndIdLessThan(Long eventId, Long id);
+    
+    // Removing the row is the claim: of several concurrent promoters only one sees a count of 1
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.id = :id")
+    int claim(@Param("id") Long id);
+    
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.username = :username AND w.eventId = :eventId")
+    int deleteByUsernameAndEventId(@Param("username") String username, @Param("eventId") Long eventId);
+    
+    // Bounded set-based deletes for cascade cleanup; each call is its own transaction
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM event_waitlist WHERE event_id = :eventId LIMIT :limit", nativeQuery = true)
+    int deleteBatchByEventId(@Param("eventId") Long eventId, @Param("limit") int limit);
+    
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM event_waitlist WHERE username = :username LIMIT :limit", nativeQuery = true)
+    int deleteBatchByUsername(@Param("username") String username, @Param("limit") int limit);
+}
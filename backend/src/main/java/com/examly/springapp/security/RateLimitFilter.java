@@ -0,0 +1,102 @@
+package com.examly.springapp.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Throttles the routes configured under rate-limit.* before they reach a controller or the
+// database. The client IP bucket is checked first; the account bucket uses the session
+// token's username, or the configured field of a small JSON body for anonymous calls such
+// as login. Rejected requests get 429 with Retry-After.
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+    
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.Route route = rateLimiter.match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long wait = route.acquireForIp(request.getRemoteAddr());
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+        if (route.limitsUsernames()) {
+            String username = authenticatedUsername();
+            if (username == null && isSmallJson(request)) {
+                CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(
+                    request, StreamUtils.copyToByteArray(request.getInputStream()));
+                username = bodyField(cached.getBody(), route.getUsernameField());
+                request = cached;
+            }
+            if (username != null) {
+                wait = route.acquireForUsername(username.trim().toLowerCase(Locale.ROOT));
+                if (wait > 0) {
+                    reject(response, wait);
+                    return;
+                }
+            }
+        }
+        route.recordAllowed();
+        filterChain.doFilter(request, response);
+    }
+    
+    private String authenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof TokenClaims) {
+            return ((TokenClaims) authentication.getPrincipal()).getUsername();
+        }
+        return null;
+    }
+    
+    private boolean isSmallJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        long length = request.getContentLengthLong();
+        // Chunked bodies report -1 and could be any size, so only declared lengths are buffered
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_JSON_VALUE)
+            && length >= 0 && length <= MAX_INSPECTED_BODY_BYTES;
+    }
+    
+    // Malformed bodies are left for the controller to reject
+    private String bodyField(byte[] body, String field) {
+        try {
+            JsonNode value = objectMapper.readTree(body).get(field);
+            return value != null && value.isTextual() ? value.asText() : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1)));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests, please retry later");
+    }
+}
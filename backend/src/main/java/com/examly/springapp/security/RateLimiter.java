@@ -0,0 +1,146 @@
+package com.examly.springapp.security;
+
+import com.examly.springapp.config.RateLimitProperties;
+import com.examly.springapp.util.StripedTokenBuckets;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-route token buckets for RateLimitFilter, one table per client IP and one per account.
+// Buckets left untouched until they refill are swept on a timer, so memory tracks the
+// clients active in the last refill window rather than every client ever seen.
+@Component
+public class RateLimiter {
+    
+    private final boolean enabled;
+    private final List<Route> routes = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AtomicLong evicted = new AtomicLong();
+    
+    public RateLimiter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            routes.add(new Route(route, properties.getStripes()));
+        }
+    }
+    
+    // The first configured route matching the request, or null when it is not limited
+    public Route match(HttpServletRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        String path = request.getServletPath();
+        for (Route route : routes) {
+            if (route.method.equalsIgnoreCase(request.getMethod()) && route.matches(pathMatcher, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+    
+    @Scheduled(fixedRateString = "${rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        for (Route route : routes) {
+            if (route.byIp != null) {
+                evicted.addAndGet(route.byIp.evictIdle());
+            }
+            if (route.byUsername != null) {
+                evicted.addAndGet(route.byUsername.evictIdle());
+            }
+        }
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("evictedBuckets", evicted.get());
+        Map<String, Object> routeStats = new HashMap<>();
+        for (Route route : routes) {
+            routeStats.put(route.name, route.getStats());
+        }
+        stats.put("routes", routeStats);
+        return stats;
+    }
+    
+    public static final class Route {
+        private final String name;
+        private final List<String> paths;
+        private final String method;
+        private final String usernameField;
+        private final StripedTokenBuckets byIp;
+        private final StripedTokenBuckets byUsername;
+        private final AtomicLong allowed = new AtomicLong();
+        private final AtomicLong rejectedByIp = new AtomicLong();
+        private final AtomicLong rejectedByUsername = new AtomicLong();
+        
+        private Route(RateLimitProperties.Route config, int stripes) {
+            this.name = config.getName();
+            this.paths = config.getPaths();
+            this.method = config.getMethod();
+            this.usernameField = config.getUsernameField();
+            this.byIp = buckets(config.getIpCapacity(), config.getIpPerMinute(), stripes);
+            this.byUsername = buckets(config.getUsernameCapacity(), config.getUsernamePerMinute(), stripes);
+        }
+        
+        // Both return 0 when the request may proceed, otherwise nanoseconds until it could
+        public long acquireForIp(String ip) {
+            if (byIp == null) {
+                return 0;
+            }
+            long wait = byIp.tryAcquire(ip);
+            if (wait > 0) {
+                rejectedByIp.incrementAndGet();
+            }
+            return wait;
+        }
+        
+        public long acquireForUsername(String username) {
+            if (byUsername == null || username == null) {
+                return 0;
+            }
+            long wait = byUsername.tryAcquire(username);
+            if (wait > 0) {
+                rejectedByUsername.incrementAndGet();
+            }
+            return wait;
+        }
+        
+        public void recordAllowed() {
+            allowed.incrementAndGet();
+        }
+        
+        public boolean limitsUsernames() { return byUsername != null; }
+        
+        public String getUsernameField() { return usernameField; }
+        
+        private boolean matches(AntPathMatcher pathMatcher, String path) {
+            for (String pattern : paths) {
+                if (pathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private Map<String, Object> getStats() {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("allowed", allowed.get());
+            stats.put("rejectedByIp", rejectedByIp.get());
+            stats.put("rejectedByUsername", rejectedByUsername.get());
+            stats.put("ipBuckets", byIp == null ? 0 : byIp.size());
+            stats.put("usernameBuckets", byUsername == null ? 0 : byUsername.size());
+            return stats;
+        }
+        
+        private static StripedTokenBuckets buckets(int capacity, int perMinute, int stripes) {
+            return capacity > 0 && perMinute > 0 ? new StripedTokenBuckets(capacity, perMinute, stripes) : null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.examly.springapp.security;
+
+// What a verified session token says about its bearer; used as the authenticated principal
+public class TokenClaims {
+    
+    private final String username;
+    private final Long userId;
+    private final String role;
+    private final long expiresAt;
+    
+    public TokenClaims(String username, Long userId, String role, long expiresAt) {
+        this.username = username;
+        this.userId = userId;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+    
+    public String getUsername() { return username; }
+    
+    public Long getUserId() { return userId; }
+    
+    public String getRole() { return role; }
+    
+    // Epoch seconds
+    public long getExpiresAt() { return expiresAt; }
+}
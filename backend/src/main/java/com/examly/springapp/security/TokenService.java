@@ -0,0 +1,105 @@
+package com.examly.springapp.security;
+
+import com.examly.springapp.model.User;
+import com.examly.springapp.util.Constants;
+import com.examly.springapp.util.SigningKeys;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+// Issues and verifies HS256 JWTs carrying the user's id and role. The key is built once and
+// each thread keeps an initialised Mac, so verifying a request's token is one HMAC and a
+// JSON parse with no database lookup. Tokens stay valid until they expire; role changes
+// and deletions take effect on the next login.
+@Service
+public class TokenService {
+    
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    // Only this exact header is accepted, which rules out "alg": "none" and algorithm swaps
+    private static final String HEADER = ENCODER.encodeToString(
+        "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long expirationMs;
+    private final ThreadLocal<Mac> macs;
+    
+    public TokenService(@Value("${security.token.secret:}") String secret,
+                        @Value("${security.token.expiration-ms:" + Constants.JWT_EXPIRATION + "}") long expirationMs) {
+        SecretKeySpec key = SigningKeys.hmacKey("security.token.secret", secret, ALGORITHM);
+        this.expirationMs = expirationMs;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Token signing unavailable", e);
+            }
+        });
+    }
+    
+    public String issue(User user) {
+        long now = System.currentTimeMillis() / 1000;
+        ObjectNode claims = objectMapper.createObjectNode();
+        claims.put("sub", user.getUsername());
+        claims.put("uid", user.getId());
+        claims.put("role", user.getRole() == null ? null : user.getRole().name());
+        claims.put("iat", now);
+        claims.put("exp", now + expirationMs / 1000);
+        String signingInput;
+        try {
+            signingInput = HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (IOException e) {
+            throw new IllegalStateException("Token claims could not be written", e);
+        }
+        return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+    }
+    
+    // Null for anything malformed, forged or expired
+    public TokenClaims verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot || !HEADER.equals(token.substring(0, firstDot))) {
+            return null;
+        }
+        try {
+            // Compared in encoded form so only the canonical encoding of the signature verifies
+            byte[] expected = ENCODER.encode(sign(token.substring(0, lastDot)));
+            if (!MessageDigest.isEqual(expected, token.substring(lastDot + 1).getBytes(StandardCharsets.US_ASCII))) {
+                return null;
+            }
+            JsonNode claims = objectMapper.readTree(DECODER.decode(token.substring(firstDot + 1, lastDot)));
+            long expiresAt = claims.path("exp").asLong(0);
+            if (expiresAt <= System.currentTimeMillis() / 1000 || !claims.hasNonNull("sub")) {
+                return null;
+            }
+            return new TokenClaims(claims.get("sub").asText(),
+                claims.hasNonNull("uid") ? claims.get("uid").asLong() : null,
+                claims.hasNonNull("role") ? claims.get("role").asText() : null,
+                expiresAt);
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+    
+    public long getExpirationMs() { return expirationMs; }
+    
+    private byte[] sign(String signingInput) {
+        return macs.get().doFinal(signingInput.getBytes(StandardCharsets.UTF_8));
+    }
+}
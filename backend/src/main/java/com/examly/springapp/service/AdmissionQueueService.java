@@ -0,0 +1,237 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.AdmissionTicket;
+import com.examly.springapp.dto.BulkRegistrationResult;
+import com.examly.springapp.exception.AdmissionQueueFullException;
+import com.examly.springapp.model.EventRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Admission control for hot launches. While enabled for an event, registrations are
+// accepted into a bounded in-memory queue and answered with a ticket immediately; a single
+// scheduled drainer turns each batch into one bulk registration, so the spike costs the
+// connection pool one transaction per tick instead of one per request.
+@Service
+public class AdmissionQueueService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionQueueService.class);
+    
+    @Value("${registration.admission.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${registration.admission.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${registration.admission.drain-interval-ms:200}")
+    private long drainIntervalMs;
+    
+    @Value("${registration.admission.ticket-ttl-ms:600000}")
+    private long ticketTtlMs;
+    
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    private final Map<Long, AdmissionQueue> queues = new ConcurrentHashMap<>();
+    private final Map<String, AdmissionTicket> tickets = new ConcurrentHashMap<>();
+    
+    public void enable(Long eventId) {
+        queues.computeIfAbsent(eventId, id -> new AdmissionQueue(queueCapacity)).enabled = true;
+    }
+    
+    // The queue stays until what was admitted has drained
+    public void disable(Long eventId) {
+        AdmissionQueue queue = queues.get(eventId);
+        if (queue != null) {
+            queue.enabled = false;
+        }
+    }
+    
+    public boolean isEnabled(Long eventId) {
+        AdmissionQueue queue = queues.get(eventId);
+        return queue != null && queue.enabled;
+    }
+    
+    // Null when admission control is off for the event and the caller should register directly
+    public AdmissionTicket admit(String username, Long eventId) {
+        AdmissionQueue queue = queues.get(eventId);
+        if (queue == null) {
+            return null;
+        }
+        synchronized (queue) {
+            if (!queue.enabled) {
+                return null;
+            }
+            AdmissionTicket pending = queue.pendingByUser.get(username);
+            if (pending != null) {
+                return withPosition(pending, queue);
+            }
+            AdmissionTicket ticket = new AdmissionTicket(UUID.randomUUID().toString(), username, eventId, queue.enqueued.get() + 1);
+            if (!queue.tickets.offer(ticket)) {
+                throw new AdmissionQueueFullException("Registration queue is full, please retry", retryAfterSeconds(queue));
+            }
+            queue.enqueued.incrementAndGet();
+            queue.pendingByUser.put(username, ticket);
+            tickets.put(ticket.getTicketId(), ticket);
+            return withPosition(ticket, queue);
+        }
+    }
+    
+    public AdmissionTicket getTicket(String ticketId) {
+        AdmissionTicket ticket = tickets.get(ticketId);
+        if (ticket != null) {
+            AdmissionQueue queue = queues.get(ticket.getEventId());
+            if (queue != null) {
+                withPosition(ticket, queue);
+            }
+        }
+        return ticket;
+    }
+    
+    public Map<Long, Map<String, Object>> getQueueStats() {
+        Map<Long, Map<String, Object>> stats = new LinkedHashMap<>();
+        queues.forEach((eventId, queue) -> {
+            Map<String, Object> queueStats = new HashMap<>();
+            queueStats.put("enabled", queue.enabled);
+            queueStats.put("queued", queue.tickets.size());
+            queueStats.put("admitted", queue.enqueued.get());
+            queueStats.put("drained", queue.drained.get());
+            stats.put(eventId, queueStats);
+        });
+        return stats;
+    }
+    
+    @Scheduled(fixedDelayString = "${registration.admission.drain-interval-ms:200}")
+    public void drain() {
+        for (Map.Entry<Long, AdmissionQueue> entry : queues.entrySet()) {
+            Long eventId = entry.getKey();
+            AdmissionQueue queue = entry.getValue();
+            List<AdmissionTicket> batch = new ArrayList<>(batchSize);
+            queue.tickets.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                synchronized (queue) {
+                    if (!queue.enabled && queue.tickets.isEmpty()) {
+                        queues.remove(eventId, queue);
+                    }
+                }
+                continue;
+            }
+            settle(eventId, batch);
+            queue.drained.addAndGet(batch.size());
+            batch.forEach(ticket -> queue.pendingByUser.remove(ticket.getUsername(), ticket));
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${registration.admission.purge-interval-ms:60000}")
+    public void purgeTickets() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(ticketTtlMs * 1_000_000);
+        tickets.values().removeIf(ticket -> ticket.getCompletedAt() != null && ticket.getCompletedAt().isBefore(cutoff));
+    }
+    
+    private void settle(Long eventId, List<AdmissionTicket> batch) {
+        List<EventRegistration> requested = new ArrayList<>(batch.size());
+        Map<String, AdmissionTicket> byUsername = new HashMap<>();
+        for (AdmissionTicket ticket : batch) {
+            requested.add(new EventRegistration(ticket.getUsername(), eventId));
+            byUsername.put(ticket.getUsername(), ticket);
+        }
+        
+        BulkRegistrationResult result;
+        try {
+            result = eventRegistrationService.bulkRegister(requested);
+        } catch (RuntimeException e) {
+            logger.warn("Admission batch failed for event {}", eventId, e);
+            batch.forEach(ticket -> complete(ticket, AdmissionTicket.Status.REJECTED, "Registration failed, please retry"));
+            return;
+        }
+        
+        for (EventRegistration registration : result.getCreated()) {
+            AdmissionTicket ticket = byUsername.get(registration.getUsername());
+            ticket.setRegistrationId(registration.getId());
+            complete(ticket, AdmissionTicket.Status.REGISTERED, null);
+        }
+        for (EventRegistration registration : result.getAlreadyRegistered()) {
+            AdmissionTicket ticket = byUsername.get(registration.getUsername());
+            ticket.setRegistrationId(registration.getId());
+            complete(ticket, AdmissionTicket.Status.REGISTERED, "Already registered for this event");
+        }
+        List<AdmissionTicket> full = new ArrayList<>();
+        for (Map<String, Object> rejection : result.getRejected()) {
+            AdmissionTicket ticket = byUsername.get((String) rejection.get("username"));
+            if (EventRegistrationService.EVENT_FULL.equals(rejection.get("reason"))) {
+                full.add(ticket);
+            } else {
+                complete(ticket, AdmissionTicket.Status.REJECTED, (String) rejection.get("reason"));
+            }
+        }
+        
+        // Overflow joins the waitlist just as a direct registration on a full event would
+        if (!full.isEmpty()) {
+            for (AdmissionTicket ticket : full) {
+                waitlistService.join(ticket.getUsername(), eventId);
+            }
+            eventRegistrationService.promoteFromWaitlist(eventId);
+            for (AdmissionTicket ticket : full) {
+                Long position = waitlistService.position(ticket.getUsername(), eventId).orElse(null);
+                if (position == null) {
+                    complete(ticket, AdmissionTicket.Status.REGISTERED, "Promoted from the waitlist");
+                } else {
+                    ticket.setPosition(position);
+                    complete(ticket, AdmissionTicket.Status.WAITLISTED, "Event is full; added to the waitlist");
+                }
+            }
+        }
+    }
+    
+    private void complete(AdmissionTicket ticket, AdmissionTicket.Status status, String message) {
+        if (status != AdmissionTicket.Status.WAITLISTED) {
+            ticket.setPosition(null);
+        }
+        ticket.setMessage(message);
+        ticket.setCompletedAt(LocalDateTime.now());
+        ticket.setStatus(status);
+    }
+    
+    private AdmissionTicket withPosition(AdmissionTicket ticket, AdmissionQueue queue) {
+        long position = Math.max(1, ticket.getSequence() - queue.drained.get());
+        if (ticket.getStatus() == AdmissionTicket.Status.QUEUED) {
+            ticket.setPosition(position);
+        }
+        return ticket;
+    }
+    
+    private long retryAfterSeconds(AdmissionQueue queue) {
+        double drainedPerSecond = batchSize * 1000.0 / drainIntervalMs;
+        return Math.max(1, (long) Math.ceil(queue.tickets.size() / drainedPerSecond));
+    }
+    
+    private static final class AdmissionQueue {
+        private volatile boolean enabled = true;
+        private final BlockingQueue<AdmissionTicket> tickets;
+        private final Map<String, AdmissionTicket> pendingByUser = new ConcurrentHashMap<>();
+        private final AtomicLong enqueued = new AtomicLong();
+        private final AtomicLong drained = new AtomicLong();
+        
+        AdmissionQueue(int capacity) {
+            this.tickets = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CheckInResult;
+import com.examly.springapp.exception.ValidationException;
+import com.examly.springapp.model.Attendance;
+import com.examly.springapp.model.EventRegistration;
+import com.examly.springapp.repository.AttendanceRepository;
+import com.examly.springapp.util.CompactBitmap;
+import com.examly.springapp.util.Constants;
+import com.examly.springapp.util.SigningKeys;
+import com.examly.springapp.util.TicketToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Door check-in. Tickets are verified by signature alone, and cancelled registrations are
+// caught by the in-memory membership index by registration id, so a ticket from before a
+// cancel and re-register is refused and a scan never waits on the database. Each
+// event's admitted registration ids live in a CompactBitmap that also rejects repeat
+// scans; new check-ins are queued and written to event_attendance in batches.
+@Service
+public class AttendanceService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceService.class);
+    
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    
+    @Autowired
+    private RegistrationMembershipIndex registrationMembershipIndex;
+    
+    private final SecretKeySpec ticketKey;
+    private final Map<Long, CompactBitmap> attendance = new ConcurrentHashMap<>();
+    private final Queue<Attendance> unflushed = new ConcurrentLinkedQueue<>();
+    
+    public AttendanceService(@Value("${registration.tickets.secret:}") String secret) {
+        this.ticketKey = SigningKeys.hmacKey("registration.tickets.secret", secret, TicketToken.ALGORITHM);
+    }
+    
+    public String issueTicket(EventRegistration registration) {
+        return TicketToken.of(registration).sign(ticketKey);
+    }
+    
+    public List<CheckInResult> checkIn(Long eventId, List<String> tickets) {
+        if (tickets.size() > Constants.MAX_CHECK_IN_BATCH) {
+            throw new ValidationException("At most " + Constants.MAX_CHECK_IN_BATCH + " tickets per request");
+        }
+        List<CheckInResult> results = new ArrayList<>(tickets.size());
+        for (String ticket : tickets) {
+            results.add(checkIn(eventId, ticket));
+        }
+        return results;
+    }
+    
+    public CheckInResult checkIn(Long eventId, String ticket) {
+        TicketToken token;
+        try {
+            token = TicketToken.verify(ticket, ticketKey);
+        } catch (ValidationException e) {
+            return new CheckInResult(CheckInResult.Status.INVALID, null, null);
+        }
+        Long registrationId = token.getRegistrationId();
+        String username = token.getUsername();
+        if (!token.getEventId().equals(eventId)) {
+            return new CheckInResult(CheckInResult.Status.WRONG_EVENT, registrationId, username);
+        }
+        // Bitmap members are ints; registration ids are handed out from 1 and stay far below that
+        if (registrationId <= 0 || registrationId > Integer.MAX_VALUE) {
+            return new CheckInResult(CheckInResult.Status.INVALID, registrationId, username);
+        }
+        if (!registrationMembershipIndex.isCurrentRegistration(registrationId, eventId)) {
+            return new CheckInResult(CheckInResult.Status.NOT_REGISTERED, registrationId, username);
+        }
+        CompactBitmap admitted = bitmap(eventId);
+        boolean first;
+        synchronized (admitted) {
+            first = admitted.add(registrationId.intValue());
+        }
+        if (!first) {
+            return new CheckInResult(CheckInResult.Status.ALREADY_CHECKED_IN, registrationId, username);
+        }
+        unflushed.add(new Attendance(registrationId, eventId, username));
+        return new CheckInResult(CheckInResult.Status.ADMITTED, registrationId, username);
+    }
+    
+    // Read-only: events without a loaded bitmap are counted in the database instead of being
+    // loaded, so polling arbitrary or deleted event ids cannot grow the map. Bitmaps are only
+    // created by check-ins, which need a live registration for the event.
+    public Map<String, Object> getAttendance(Long eventId) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("eventId", eventId);
+        CompactBitmap admitted = attendance.get(eventId);
+        if (admitted == null) {
+            summary.put("checkedIn", attendanceRepository.countByEventId(eventId));
+            return summary;
+        }
+        synchronized (admitted) {
+            summary.put("checkedIn", admitted.cardinality());
+        }
+        return summary;
+    }
+    
+    @Scheduled(fixedDelayString = "${registration.attendance.flush-interval-ms:2000}")
+    public void flush() {
+        List<Attendance> batch = new ArrayList<>();
+        Attendance next;
+        while ((next = unflushed.poll()) != null) {
+            batch.add(next);
+            if (batch.size() == Constants.ATTENDANCE_FLUSH_BATCH) {
+                if (!write(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.isDeleted()) {
+            attendance.remove(change.getEventId());
+            unflushed.removeIf(row -> row.getEventId().equals(change.getEventId()));
+        }
+    }
+    
+    // Failed batches go back on the queue for the next flush
+    private boolean write(List<Attendance> batch) {
+        try {
+            attendanceRepository.saveAll(batch);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance recorded some of these already; keep the rest one by one
+            for (Attendance row : batch) {
+                try {
+                    attendanceRepository.save(row);
+                } catch (DataIntegrityViolationException duplicate) {
+                    logger.debug("Check-in for registration {} already recorded", row.getRegistrationId());
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Attendance flush of {} check-ins failed; retrying next interval", batch.size(), e);
+            unflushed.addAll(batch);
+            return false;
+        }
+    }
+    
+    // Loaded outside the map so a slow first load never blocks other events
+    private CompactBitmap bitmap(Long eventId) {
+        CompactBitmap bitmap = attendance.get(eventId);
+        if (bitmap != null) {
+            return bitmap;
+        }
+        CompactBitmap loaded = new CompactBitmap();
+        for (Long registrationId : attendanceRepository.findRegistrationIdsByEventId(eventId)) {
+            loaded.add(registrationId.intValue());
+        }
+        CompactBitmap existing = attendance.putIfAbsent(eventId, loaded);
+        return existing != null ? existing : loaded;
+    }
+}
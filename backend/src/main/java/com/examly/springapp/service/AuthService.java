@@ -2,25 +2,80 @@ package com.examly.springapp.service;
 
 import com.examly.springapp.model.User;
 import com.examly.springapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+// Password checks and writes complete on the password hashing pool; callers hand the
+// futures back to Spring MVC so no request thread waits on a hash.
 @Service
 public class AuthService {
     
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+    
     @Autowired
     private UserRepository userRepository;
     
-    public User authenticate(String username, String password) {
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private UserCacheService userCacheService;
+    
+    // Completes with null when the credentials do not match. Reads the database rather than
+    // UserCacheService: cache evictions are per instance, so a snapshot could still hold an
+    // old password hash on another node
+    public CompletableFuture<User> authenticate(String username, String password) {
         Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isPresent() && userOpt.get().getPassword().equals(password)) {
-            return userOpt.get();
+        if (!userOpt.isPresent()) {
+            return passwordHashingService.matchesNothing(password).thenApply(matched -> null);
         }
-        return null;
+        User user = userOpt.get();
+        return passwordHashingService.matches(password, user.getPassword()).thenApply(matched -> {
+            if (!matched) {
+                return null;
+            }
+            if (passwordHashingService.needsRehash(user.getPassword())) {
+                rehash(user, password);
+            }
+            return user;
+        });
+    }
+    
+    // Public signup; the role in the request is ignored so nobody can sign up as staff
+    public CompletableFuture<User> register(User user) {
+        return createWithRole(user, User.Role.PARTICIPANT);
+    }
+    
+    // Only the admin API may pick a role other than PARTICIPANT
+    public CompletableFuture<User> createWithRole(User user, User.Role role) {
+        user.setRole(role);
+        return savePassword(user, user.getPassword());
+    }
+    
+    public CompletableFuture<User> savePassword(User user, String rawPassword) {
+        return passwordHashingService.hash(rawPassword).thenApply(hash -> {
+            user.setPassword(hash);
+            return userRepository.save(user);
+        });
     }
     
-    public User register(User user) {
-        return userRepository.save(user);
+    // Upgrades plaintext and lower-cost hashes in the background; the login does not wait.
+    // The bulk update skips the entity listeners, so the cached user is evicted here.
+    private void rehash(User user, String rawPassword) {
+        String previous = user.getPassword();
+        passwordHashingService.hash(rawPassword)
+            .thenAccept(hash -> {
+                if (userRepository.replacePassword(user.getId(), previous, hash) > 0) {
+                    userCacheService.evict(user.getId());
+                }
+            })
+            .exceptionally(e -> {
+                logger.warn("Password rehash for user {} failed", user.getId(), e);
+                return null;
+            });
     }
-}
\ No newline at end of file
+}
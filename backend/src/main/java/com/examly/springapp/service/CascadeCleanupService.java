@@ -0,0 +1,71 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.config.AsyncConfig;
+import com.examly.springapp.repository.AttendanceRepository;
+import com.examly.springapp.repository.EventRegistrationRepository;
+import com.examly.springapp.repository.ReviewRepository;
+import com.examly.springapp.repository.WaitlistRepository;
+import com.examly.springapp.util.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.function.IntUnaryOperator;
+
+// Removes rows that reference deleted events and users. Runs on the cleanup executor and
+// deletes in bounded batches, each its own short transaction, so a large event never
+// holds one long transaction or pulls its rows into a persistence context.
+@Service
+public class CascadeCleanupService {
+    
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private ReviewRepository reviewRepository;
+    
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    
+    @Autowired
+    private RegistrationCounterService registrationCounterService;
+    
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+    
+    @Async(AsyncConfig.CLEANUP_EXECUTOR)
+    @EventListener(condition = "#root.args[0].deleted")
+    public void onEventDeleted(EventChangedEvent change) {
+        Long eventId = change.getEventId();
+        drain(limit -> waitlistRepository.deleteBatchByEventId(eventId, limit));
+        long registrations = drain(limit -> eventRegistrationRepository.deleteBatchByEventId(eventId, limit));
+        drain(limit -> reviewRepository.deleteBatchByEventId(String.valueOf(eventId), limit));
+        drain(limit -> attendanceRepository.deleteBatchByEventId(eventId, limit));
+        registrationCounterService.forgetEvent(change.getEvent(), registrations);
+    }
+    
+    // Waitlist entries go first so freed seats are never offered back to the deleted user
+    @Async(AsyncConfig.CLEANUP_EXECUTOR)
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent deleted) {
+        String username = deleted.getUsername();
+        drain(limit -> waitlistRepository.deleteBatchByUsername(username, limit));
+        eventRegistrationService.removeAllForUser(username);
+        drain(limit -> reviewRepository.deleteBatchByUsername(username, limit));
+        drain(limit -> attendanceRepository.deleteBatchByUsername(username, limit));
+    }
+    
+    private long drain(IntUnaryOperator deleteBatch) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = deleteBatch.applyAsInt(Constants.CLEANUP_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == Constants.CLEANUP_BATCH_SIZE);
+        return total;
+    }
+}
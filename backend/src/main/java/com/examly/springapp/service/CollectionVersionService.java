@@ -0,0 +1,57 @@
+package com.examly.springapp.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-collection version stamps backing ETag / Last-Modified on read-mostly endpoints
+@Service
+public class CollectionVersionService {
+    
+    public static final String EVENTS = "events";
+    public static final String CATEGORIES = "categories";
+    public static final String ZONES = "zones";
+    public static final String VENUES = "venues";
+    
+    // Distinguishes counters across restarts so stale ETags never match a fresh process
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<String, Stamp> stamps = new ConcurrentHashMap<>();
+    
+    public void bump(String collection) {
+        stamps.compute(collection, (name, current) ->
+            new Stamp(current == null ? 1 : current.version + 1, System.currentTimeMillis()));
+    }
+    
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        bump(EVENTS);
+    }
+    
+    // Reads the stamp once: that snapshot decides the 304 and is the ETag / Last-Modified the
+    // response carries, so a write landing mid-request cannot pair one version's validators
+    // with another's body
+    public boolean checkNotModified(WebRequest request, String collection) {
+        Stamp stamp = stamp(collection);
+        String etag = "\"" + collection + "-" + epoch + "-" + stamp.version + "\"";
+        return request.checkNotModified(etag, stamp.lastModified);
+    }
+    
+    private Stamp stamp(String collection) {
+        Stamp stamp = stamps.get(collection);
+        return stamp != null ? stamp : new Stamp(0, startedAt);
+    }
+    
+    private static final class Stamp {
+        private final long version;
+        private final long lastModified;
+        
+        Stamp(long version, long lastModified) {
+            this.version = version;
+            this.lastModified = lastModified;
+        }
+    }
+}
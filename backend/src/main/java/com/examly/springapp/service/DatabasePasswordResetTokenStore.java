@@ -0,0 +1,81 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.PasswordResetToken;
+import com.examly.springapp.repository.PasswordResetTokenRepository;
+import com.examly.springapp.util.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Reset tokens shared by every instance and kept across restarts. Whichever node deletes
+// the row consumes the token, so a link clicked twice or replayed against two nodes
+// resets the password once. Email is unique, so racing issues for one address leave a
+// single live token. Expired rows are purged in bounded batches on a timer.
+@Component
+@ConditionalOnProperty(name = "security.password.reset-tokens.store", havingValue = "database", matchIfMissing = true)
+public class DatabasePasswordResetTokenStore implements PasswordResetTokenStore {
+    
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    
+    private final AtomicLong expired = new AtomicLong();
+    
+    // Upsert: replace the email's row, or insert one; losing an insert race falls back to replacing
+    @Override
+    public void save(String tokenHash, String email, long ttlMillis) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttlMillis, ChronoUnit.MILLIS);
+        if (passwordResetTokenRepository.replaceByEmail(email, tokenHash, expiresAt) > 0) {
+            return;
+        }
+        try {
+            passwordResetTokenRepository.saveAndFlush(new PasswordResetToken(tokenHash, email, expiresAt));
+        } catch (DataIntegrityViolationException e) {
+            passwordResetTokenRepository.replaceByEmail(email, tokenHash, expiresAt);
+        }
+    }
+    
+    @Override
+    public boolean isValid(String tokenHash) {
+        Optional<PasswordResetToken> token = passwordResetTokenRepository.findById(tokenHash);
+        return token.isPresent() && token.get().getExpiresAt().isAfter(LocalDateTime.now());
+    }
+    
+    @Override
+    public Optional<String> consume(String tokenHash) {
+        Optional<PasswordResetToken> token = passwordResetTokenRepository.findById(tokenHash);
+        if (!token.isPresent() || passwordResetTokenRepository.deleteByTokenHash(tokenHash) == 0) {
+            return Optional.empty();
+        }
+        if (!token.get().getExpiresAt().isAfter(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(token.get().getEmail());
+    }
+    
+    @Scheduled(fixedRateString = "${security.password.reset-tokens.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        int deleted;
+        do {
+            deleted = passwordResetTokenRepository.deleteBatchExpired(LocalDateTime.now(), Constants.CLEANUP_BATCH_SIZE);
+            expired.addAndGet(deleted);
+        } while (deleted == Constants.CLEANUP_BATCH_SIZE);
+    }
+    
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("store", "database");
+        stats.put("outstanding", passwordResetTokenRepository.count());
+        stats.put("expired", expired.get());
+        return stats;
+    }
+}
@@ -0,0 +1,32 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Event;
+
+// Published by EventService after every event write so in-memory indexes can follow
+public class EventChangedEvent {
+    
+    private final Long eventId;
+    private final Event event;
+    private final boolean deleted;
+    
+    private EventChangedEvent(Long eventId, Event event, boolean deleted) {
+        this.eventId = eventId;
+        this.event = event;
+        this.deleted = deleted;
+    }
+    
+    public static EventChangedEvent saved(Event event) {
+        return new EventChangedEvent(event.getId(), event, false);
+    }
+    
+    // Carries the last state of the removed event so listeners can clean up after it
+    public static EventChangedEvent deleted(Event event) {
+        return new EventChangedEvent(event.getId(), event, true);
+    }
+    
+    public Long getEventId() { return eventId; }
+    
+    public Event getEvent() { return event; }
+    
+    public boolean isDeleted() { return deleted; }
+}
@@ -0,0 +1,105 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Event;
+import com.examly.springapp.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Approved events sorted by (date, time, id) so calendar ranges are a sub-map view
+@Service
+public class EventDateIndex {
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    private final ConcurrentSkipListMap<Key, Event> byDate = new ConcurrentSkipListMap<>();
+    private final Map<Long, Key> keysById = new ConcurrentHashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        byDate.clear();
+        keysById.clear();
+        for (Event event : eventRepository.findByStatus(Event.Status.APPROVED)) {
+            put(event);
+        }
+    }
+    
+    // Writers are serialized; readers iterate the skip list without locking
+    @EventListener
+    public synchronized void onEventChanged(EventChangedEvent change) {
+        Key previous = keysById.remove(change.getEventId());
+        if (previous != null) {
+            byDate.remove(previous);
+        }
+        if (!change.isDeleted() && change.getEvent().getStatus() == Event.Status.APPROVED) {
+            put(change.getEvent());
+        }
+    }
+    
+    // Inclusive on both ends; category is optional and case-insensitive
+    public List<Event> findBetween(LocalDate from, LocalDate to, String category) {
+        ConcurrentNavigableMap<Key, Event> range = byDate.subMap(
+            new Key(from, LocalTime.MIN, Long.MIN_VALUE), true,
+            new Key(to, LocalTime.MAX, Long.MAX_VALUE), true);
+        
+        List<Event> events = new ArrayList<>();
+        for (Event event : range.values()) {
+            if (category == null || category.equalsIgnoreCase(event.getCategory())) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+    
+    private void put(Event event) {
+        if (event.getDate() == null) {
+            return;
+        }
+        Key key = new Key(event.getDate(), event.getTime() == null ? LocalTime.MIN : event.getTime(), event.getId());
+        byDate.put(key, event);
+        keysById.put(event.getId(), key);
+    }
+    
+    private static final class Key implements Comparable<Key> {
+        private final LocalDate date;
+        private final LocalTime time;
+        private final long id;
+        
+        Key(LocalDate date, LocalTime time, long id) {
+            this.date = date;
+            this.time = time;
+            this.id = id;
+        }
+        
+        @Override
+        public int compareTo(Key other) {
+            int byDay = date.compareTo(other.date);
+            if (byDay != 0) {
+                return byDay;
+            }
+            int byTime = time.compareTo(other.time);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && compareTo((Key) o) == 0;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.EventFacets;
+import com.examly.springapp.dto.EventFilter;
+import com.examly.springapp.dto.EventPage;
+import com.examly.springapp.model.Event;
+import com.examly.springapp.repository.EventRepository;
+import com.examly.springapp.util.Constants;
+import com.examly.springapp.util.EventCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class EventFacetService {
+    
+    private static final String UNCATEGORIZED = "Uncategorized";
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    // Facets and the first page are read in the same transaction so their counts agree
+    @Transactional(readOnly = true)
+    public Map<String, Object> getFacetedPage(EventFilter filter, String cursor, Integer limit) {
+        int pageSize = limit == null || limit <= 0 ? Constants.DEFAULT_PAGE_SIZE : Math.min(limit, Constants.MAX_PAGE_SIZE);
+        EventCursor after = cursor == null || cursor.isEmpty() ? null : EventCursor.decode(cursor);
+        
+        List<Event> rows = eventRepository.findFiltered(filter, after, pageSize + 1);
+        EventPage<Event> page;
+        if (rows.size() > pageSize) {
+            List<Event> events = rows.subList(0, pageSize);
+            page = new EventPage<>(events, EventCursor.of(events.get(pageSize - 1)).encode());
+        } else {
+            page = new EventPage<>(rows, null);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("page", page);
+        response.put("facets", computeFacets(filter));
+        return response;
+    }
+    
+    // One small GROUP BY per facet; grouping on all four at once returns their cross-product
+    @Transactional(readOnly = true)
+    public EventFacets computeFacets(EventFilter filter) {
+        Map<String, Long> categories = new HashMap<>();
+        Map<Event.Status, Long> statuses = new EnumMap<>(Event.Status.class);
+        Map<String, Long> months = new TreeMap<>();
+        Map<String, Long> organizers = new HashMap<>();
+        long total = 0;
+        
+        for (Object[] row : eventRepository.countByField(filter, "category")) {
+            categories.merge(row[0] == null ? UNCATEGORIZED : (String) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        // status is never null, so its counts also give the total
+        for (Object[] row : eventRepository.countByField(filter, "status")) {
+            long count = ((Number) row[1]).longValue();
+            statuses.put((Event.Status) row[0], count);
+            total += count;
+        }
+        for (Object[] row : eventRepository.countByField(filter, "organizerName")) {
+            organizers.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        for (Object[] row : eventRepository.countByMonth(filter)) {
+            String month = String.format("%04d-%02d", ((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            months.put(month, ((Number) row[2]).longValue());
+        }
+        
+        EventFacets facets = new EventFacets();
+        facets.setTotal(total);
+        facets.setCategories(byCountDesc(categories));
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status.name(), count));
+        facets.setStatuses(statusCounts);
+        facets.setMonths(months);
+        facets.setOrganizers(byCountDesc(organizers));
+        return facets;
+    }
+    
+    private Map<String, Long> byCountDesc(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .forEachOrdered(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+}
@@ -0,0 +1,193 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.NearbyEvent;
+import com.examly.springapp.exception.ValidationException;
+import com.examly.springapp.model.Event;
+import com.examly.springapp.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Uniform lat/lng grid over approved events with coordinates; queries only visit overlapping cells
+@Service
+public class EventGeoIndex {
+    
+    private static final double CELL_DEGREES = 0.05; // ~5.5 km of latitude
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double MAX_RADIUS_KM = 100;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Event> events = new ConcurrentHashMap<>();
+    private final Map<Long, Long> cellByEvent = new ConcurrentHashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        cells.clear();
+        events.clear();
+        cellByEvent.clear();
+        for (Event event : eventRepository.findByStatus(Event.Status.APPROVED)) {
+            put(event);
+        }
+    }
+    
+    // Writers are serialized; readers work off the concurrent maps without locking
+    @EventListener
+    public synchronized void onEventChanged(EventChangedEvent change) {
+        remove(change.getEventId());
+        if (!change.isDeleted() && change.getEvent().getStatus() == Event.Status.APPROVED) {
+            put(change.getEvent());
+        }
+    }
+    
+    public List<NearbyEvent> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        validatePoint(latitude, longitude);
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new ValidationException("radiusKm must be between 0 and " + (int) MAX_RADIUS_KM);
+        }
+        double latDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        // Near the poles a radius spans every longitude
+        double lonDelta = cosLat < 1e-6 ? 180 : Math.min(180, latDelta / cosLat);
+        
+        List<NearbyEvent> matches = new ArrayList<>();
+        for (Long eventId : candidates(latitude - latDelta, longitude - lonDelta, latitude + latDelta, longitude + lonDelta)) {
+            Event event = events.get(eventId);
+            if (event == null) {
+                continue;
+            }
+            double distance = haversineKm(latitude, longitude, event.getLatitude(), event.getLongitude());
+            if (distance <= radiusKm) {
+                matches.add(new NearbyEvent(event, distance));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(NearbyEvent::getDistanceKm));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+    
+    // minLng > maxLng denotes a box crossing the antimeridian
+    public List<Event> findWithin(double minLat, double minLng, double maxLat, double maxLng, int limit) {
+        validatePoint(minLat, minLng);
+        validatePoint(maxLat, maxLng);
+        if (minLat > maxLat) {
+            throw new ValidationException("minLat must not be greater than maxLat");
+        }
+        double width = maxLng >= minLng ? maxLng - minLng : maxLng + 360 - minLng;
+        
+        List<Event> matches = new ArrayList<>();
+        for (Long eventId : candidates(minLat, minLng, maxLat, minLng + width)) {
+            Event event = events.get(eventId);
+            if (event == null) {
+                continue;
+            }
+            double offset = event.getLongitude() - minLng;
+            if (offset < 0) {
+                offset += 360;
+            }
+            if (event.getLatitude() >= minLat && event.getLatitude() <= maxLat && offset <= width) {
+                matches.add(event);
+                if (matches.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+    
+    private List<Long> candidates(double minLat, double minLng, double maxLat, double maxLng) {
+        int fromRow = latRow(Math.max(-90, minLat));
+        int toRow = latRow(Math.min(90, maxLat));
+        long fromCol = (long) Math.floor((minLng + 180) / CELL_DEGREES);
+        long toCol = (long) Math.floor((maxLng + 180) / CELL_DEGREES);
+        if (toCol - fromCol >= LON_CELLS) {
+            fromCol = 0;
+            toCol = LON_CELLS - 1;
+        }
+        
+        List<Long> ids = new ArrayList<>();
+        long span = toCol - fromCol;
+        // A box wider than the occupied grid (up to the whole world) scans the occupied cells
+        // instead, so the cost is bounded by the events indexed rather than by the box area
+        if ((toRow - fromRow + 1) * (span + 1) > cells.size()) {
+            for (Map.Entry<Long, Set<Long>> cell : cells.entrySet()) {
+                int row = (int) (cell.getKey() >> 32);
+                int col = (int) (long) cell.getKey();
+                if (row >= fromRow && row <= toRow && Math.floorMod(col - fromCol, (long) LON_CELLS) <= span) {
+                    ids.addAll(cell.getValue());
+                }
+            }
+            return ids;
+        }
+        for (int row = fromRow; row <= toRow; row++) {
+            for (long col = fromCol; col <= toCol; col++) {
+                Set<Long> cell = cells.get(cellKey(row, (int) Math.floorMod(col, (long) LON_CELLS)));
+                if (cell != null) {
+                    ids.addAll(cell);
+                }
+            }
+        }
+        return ids;
+    }
+    
+    private void put(Event event) {
+        if (event.getLatitude() == null || event.getLongitude() == null) {
+            return;
+        }
+        long key = cellKey(latRow(event.getLatitude()), lonCol(event.getLongitude()));
+        cells.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(event.getId());
+        events.put(event.getId(), event);
+        cellByEvent.put(event.getId(), key);
+    }
+    
+    private void remove(Long eventId) {
+        Long key = cellByEvent.remove(eventId);
+        events.remove(eventId);
+        if (key == null) {
+            return;
+        }
+        Set<Long> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(eventId);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+    
+    private static int latRow(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+    
+    private static int lonCol(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+    
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+    
+    private static void validatePoint(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new ValidationException("Coordinates out of range");
+        }
+    }
+    
+    private static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -1,17 +1,49 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.BulkRegistrationResult;
+import com.examly.springapp.dto.RegistrationResult;
+import com.examly.springapp.exception.CapacityExceededException;
+import com.examly.springapp.exception.ResourceNotFoundException;
+import com.examly.springapp.exception.ValidationException;
 import com.examly.springapp.model.EventRegistration;
+import com.examly.springapp.model.WaitlistEntry;
 import com.examly.springapp.repository.EventRegistrationRepository;
+import com.examly.springapp.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 public class EventRegistrationService {
     
+    private static final Logger logger = LoggerFactory.getLogger(EventRegistrationService.class);
+    
+    public static final String EVENT_FULL = "Event is full";
+    
     @Autowired
     private EventRegistrationRepository eventRegistrationRepository;
     
+    @Autowired
+    private SeatCounterService seatCounterService;
+    
+    @Autowired
+    private RegistrationCounterService registrationCounterService;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
     public List<EventRegistration> getAllRegistrations() {
         return eventRegistrationRepository.findAll();
     }
@@ -19,4 +51,220 @@ public class EventRegistrationService {
     public EventRegistration saveRegistration(EventRegistration registration) {
         return eventRegistrationRepository.save(registration);
     }
-}
\ No newline at end of file
+    
+    // A full event puts the user on its waitlist instead of rejecting them
+    public RegistrationResult register(String username, Long eventId) {
+        try {
+            return registerNow(username, eventId);
+        } catch (CapacityExceededException e) {
+            WaitlistEntry entry = waitlistService.join(username, eventId);
+            // A seat may have been freed between the failed reservation and the join; the join
+            // already succeeded, so a failed promotion must not fail the request
+            promoteQuietly(eventId);
+            Optional<EventRegistration> promoted = eventRegistrationRepository.findByUsernameAndEventId(username, eventId);
+            if (promoted.isPresent()) {
+                return new RegistrationResult(promoted.get(), true);
+            }
+            RegistrationResult result = new RegistrationResult();
+            result.setWaitlistPosition(waitlistService.position(entry));
+            return result;
+        }
+    }
+    
+    // A seat is claimed from the in-memory counter before the row is written, so a
+    // full event is rejected without touching the database. Duplicates are caught by
+    // uk_registrations_user_event rather than checked up front, so the common path is a
+    // single INSERT and concurrent retries resolve to the one existing row.
+    private RegistrationResult registerNow(String username, Long eventId) {
+        if (!seatCounterService.tryReserve(eventId)) {
+            // A full event may already hold this user's seat
+            return existing(username, eventId)
+                .orElseThrow(() -> new CapacityExceededException(EVENT_FULL));
+        }
+        return writeReserved(username, eventId);
+    }
+    
+    // Writes the row for a seat a hold already claimed; a seat the row turns out not to
+    // need goes to the waitlist
+    public RegistrationResult registerHeld(String username, Long eventId) {
+        seatCounterService.beginConvert(eventId);
+        RegistrationResult result;
+        try {
+            result = writeReserved(username, eventId);
+        } catch (RuntimeException e) {
+            promoteQuietly(eventId);
+            throw e;
+        }
+        if (!result.isCreated()) {
+            promoteQuietly(eventId);
+        }
+        return result;
+    }
+    
+    // Gives an unconverted hold's seat back and offers it to the waitlist
+    public void releaseHeld(Long eventId) {
+        seatCounterService.releaseHold(eventId);
+        promoteQuietly(eventId);
+    }
+    
+    private RegistrationResult writeReserved(String username, Long eventId) {
+        try {
+            EventRegistration saved = registrationCounterService.insert(new EventRegistration(username, eventId));
+            seatCounterService.confirm(eventId);
+            return new RegistrationResult(saved, true);
+        } catch (DataIntegrityViolationException e) {
+            seatCounterService.cancel(eventId);
+            return existing(username, eventId).orElseThrow(() -> e);
+        } catch (RuntimeException e) {
+            seatCounterService.cancel(eventId);
+            throw e;
+        }
+    }
+    
+    // Seats are claimed per pair as in register, then every new row goes out in one
+    // JDBC batch
+    public BulkRegistrationResult bulkRegister(List<EventRegistration> requested) {
+        if (requested.size() > Constants.MAX_BULK_REGISTRATIONS) {
+            throw new ValidationException("At most " + Constants.MAX_BULK_REGISTRATIONS + " registrations per request");
+        }
+        
+        BulkRegistrationResult result = new BulkRegistrationResult();
+        List<EventRegistration> created = result.getCreated();
+        List<EventRegistration> alreadyRegistered = result.getAlreadyRegistered();
+        List<Map<String, Object>> rejected = result.getRejected();
+        Map<Long, Set<String>> usernamesByEvent = new LinkedHashMap<>();
+        for (EventRegistration registration : requested) {
+            String username = registration.getUsername();
+            Long eventId = registration.getEventId();
+            if (username == null || username.trim().isEmpty() || eventId == null) {
+                rejected.add(rejection(username, eventId, "Missing username or eventId"));
+                continue;
+            }
+            usernamesByEvent.computeIfAbsent(eventId, id -> new LinkedHashSet<>()).add(username);
+        }
+        
+        List<EventRegistration> toInsert = new ArrayList<>();
+        for (Map.Entry<Long, Set<String>> entry : usernamesByEvent.entrySet()) {
+            Long eventId = entry.getKey();
+            Set<String> usernames = entry.getValue();
+            for (EventRegistration found : eventRegistrationRepository.findByEventIdAndUsernameIn(eventId, usernames)) {
+                alreadyRegistered.add(found);
+                usernames.remove(found.getUsername());
+            }
+            for (String username : usernames) {
+                try {
+                    if (seatCounterService.tryReserve(eventId)) {
+                        toInsert.add(new EventRegistration(username, eventId));
+                    } else {
+                        rejected.add(rejection(username, eventId, EVENT_FULL));
+                    }
+                } catch (ResourceNotFoundException e) {
+                    rejected.add(rejection(username, eventId, e.getMessage()));
+                }
+            }
+        }
+        
+        try {
+            created.addAll(registrationCounterService.insertAll(toInsert));
+            toInsert.forEach(registration -> seatCounterService.confirm(registration.getEventId()));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent registration won a race and the batch rolled back; settle each row on its own
+            for (EventRegistration registration : toInsert) {
+                seatCounterService.cancel(registration.getEventId());
+                try {
+                    RegistrationResult single = registerNow(registration.getUsername(), registration.getEventId());
+                    (single.isCreated() ? created : alreadyRegistered).add(single.getRegistration());
+                } catch (CapacityExceededException ce) {
+                    rejected.add(rejection(registration.getUsername(), registration.getEventId(), ce.getMessage()));
+                }
+            }
+        } catch (RuntimeException e) {
+            toInsert.forEach(registration -> seatCounterService.cancel(registration.getEventId()));
+            throw e;
+        }
+        
+        return result;
+    }
+    
+    private Map<String, Object> rejection(String username, Long eventId, String reason) {
+        Map<String, Object> rejection = new HashMap<>();
+        rejection.put("username", username);
+        rejection.put("eventId", eventId);
+        rejection.put("reason", reason);
+        return rejection;
+    }
+    
+    private Optional<RegistrationResult> existing(String username, Long eventId) {
+        return eventRegistrationRepository.findByUsernameAndEventId(username, eventId)
+            .map(registration -> new RegistrationResult(registration, false));
+    }
+    
+    public boolean unregister(String username, Long eventId) {
+        seatCounterService.beginRelease(eventId);
+        boolean deleted = false;
+        try {
+            deleted = registrationCounterService.delete(username, eventId);
+        } finally {
+            seatCounterService.endRelease(eventId, deleted ? 1 : 0);
+        }
+        if (deleted) {
+            promoteQuietly(eventId);
+        }
+        return deleted;
+    }
+    
+    // Removes a deleted user's registrations a page at a time, then hands the freed seats
+    // to each affected event's waitlist
+    public void removeAllForUser(String username) {
+        Set<Long> affectedEvents = new TreeSet<>();
+        List<EventRegistration> page;
+        do {
+            page = eventRegistrationRepository.findByUsername(username, PageRequest.of(0, Constants.CLEANUP_BATCH_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(registration -> seatCounterService.beginRelease(registration.getEventId()));
+            boolean deleted = false;
+            try {
+                registrationCounterService.deleteAll(page);
+                deleted = true;
+            } finally {
+                for (EventRegistration registration : page) {
+                    seatCounterService.endRelease(registration.getEventId(), deleted ? 1 : 0);
+                }
+            }
+            page.forEach(registration -> affectedEvents.add(registration.getEventId()));
+        } while (page.size() == Constants.CLEANUP_BATCH_SIZE);
+        affectedEvents.forEach(this::promoteQuietly);
+    }
+    
+    private void promoteQuietly(Long eventId) {
+        try {
+            promoteFromWaitlist(eventId);
+        } catch (RuntimeException e) {
+            // The cancellation itself succeeded; the next one retries the promotion
+            logger.warn("Waitlist promotion failed for event {}", eventId, e);
+        }
+    }
+    
+    // Fills free seats from the head of the waitlist, one reservation per promotion
+    public void promoteFromWaitlist(Long eventId) {
+        while (seatCounterService.tryReserve(eventId)) {
+            EventRegistration promoted;
+            try {
+                promoted = waitlistService.promoteNext(eventId);
+            } catch (RuntimeException e) {
+                seatCounterService.cancel(eventId);
+                throw e;
+            }
+            if (promoted == null) {
+                seatCounterService.cancel(eventId);
+                if (!waitlistService.hasWaiting(eventId)) {
+                    return;
+                }
+                continue;
+            }
+            seatCounterService.confirm(eventId);
+        }
+    }
+}
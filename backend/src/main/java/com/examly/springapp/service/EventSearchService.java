@@ -0,0 +1,285 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.EventSearchResult;
+import com.examly.springapp.model.Event;
+import com.examly.springapp.repository.EventRepository;
+import com.examly.springapp.util.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over event text fields, kept in sync through EventChangedEvent
+@Service
+public class EventSearchService {
+    
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "at", "be", "by", "for", "in", "is", "it", "of", "on", "or", "the", "to", "with");
+    
+    private static final int TITLE_WEIGHT = 5;
+    private static final int CATEGORY_WEIGHT = 3;
+    private static final int ORGANIZER_WEIGHT = 2;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int SNIPPET_LENGTH = 160;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (event id -> weighted term frequency); sorted so the last query term can prefix-match
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Event> documents = new HashMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    
+    // Changes seen while a rebuild loads are replayed on top of it; guarded by the write lock
+    private final List<EventChangedEvent> pending = new ArrayList<>();
+    private boolean loading;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            pending.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Event> events;
+        try {
+            events = eventRepository.findAll();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                loading = false;
+                pending.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            documentTerms.clear();
+            for (Event event : events) {
+                addDocument(event);
+            }
+            pending.forEach(this::apply);
+            pending.clear();
+            loading = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        lock.writeLock().lock();
+        try {
+            apply(change);
+            if (loading) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // status null searches every event regardless of moderation state
+    public List<EventSearchResult> search(String query, Event.Status status, Integer limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int maxResults = limit == null || limit <= 0 ? Constants.DEFAULT_PAGE_SIZE : Math.min(limit, Constants.MAX_PAGE_SIZE);
+        
+        Map<Long, Double> scores = new HashMap<>();
+        Map<Long, Integer> termsMatched = new HashMap<>();
+        Map<Long, Set<String>> matchedTerms = new HashMap<>();
+        Map<Long, Event> hits = new HashMap<>();
+        
+        lock.readLock().lock();
+        try {
+            int documentCount = Math.max(documents.size(), 1);
+            for (int i = 0; i < queryTerms.size(); i++) {
+                String term = queryTerms.get(i);
+                boolean prefix = i == queryTerms.size() - 1;
+                Map<String, Map<Long, Integer>> candidates = prefix
+                    ? postings.subMap(term, true, term + Character.MAX_VALUE, true)
+                    : postingsFor(term);
+                
+                Set<Long> matchedThisTerm = new HashSet<>();
+                for (Map.Entry<String, Map<Long, Integer>> posting : candidates.entrySet()) {
+                    double idf = Math.log(1.0 + (double) documentCount / posting.getValue().size());
+                    for (Map.Entry<Long, Integer> entry : posting.getValue().entrySet()) {
+                        Long eventId = entry.getKey();
+                        Event event = documents.get(eventId);
+                        if (status != null && event.getStatus() != status) {
+                            continue;
+                        }
+                        hits.put(eventId, event);
+                        scores.merge(eventId, entry.getValue() * idf, Double::sum);
+                        matchedTerms.computeIfAbsent(eventId, k -> new HashSet<>()).add(posting.getKey());
+                        matchedThisTerm.add(eventId);
+                    }
+                }
+                for (Long eventId : matchedThisTerm) {
+                    termsMatched.merge(eventId, 1, Integer::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        // Events matching more of the query rank first, then by weighted tf-idf
+        List<Long> ranked = new ArrayList<>(hits.keySet());
+        ranked.sort(Comparator.<Long>comparingInt(id -> termsMatched.getOrDefault(id, 0)).reversed()
+            .thenComparing(Comparator.<Long>comparingDouble(scores::get).reversed())
+            .thenComparing(Comparator.<Long>reverseOrder()));
+        
+        List<EventSearchResult> results = new ArrayList<>();
+        for (Long eventId : ranked.subList(0, Math.min(maxResults, ranked.size()))) {
+            Event event = hits.get(eventId);
+            Set<String> terms = matchedTerms.get(eventId);
+            Map<String, String> highlights = new LinkedHashMap<>();
+            putHighlight(highlights, "title", event.getTitle(), terms, false);
+            putHighlight(highlights, "description", event.getDescription(), terms, true);
+            putHighlight(highlights, "category", event.getCategory(), terms, false);
+            putHighlight(highlights, "location", event.getLocation(), terms, false);
+            putHighlight(highlights, "organizerName", event.getOrganizerName(), terms, false);
+            results.add(new EventSearchResult(event, scores.get(eventId), highlights));
+        }
+        return results;
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Map<String, Map<Long, Integer>> postingsFor(String term) {
+        Map<Long, Integer> posting = postings.get(term);
+        return posting == null ? Collections.emptyMap() : Collections.singletonMap(term, posting);
+    }
+    
+    // Caller must hold the write lock; replaying a change is idempotent
+    private void apply(EventChangedEvent change) {
+        removeDocument(change.getEventId());
+        if (!change.isDeleted()) {
+            addDocument(change.getEvent());
+        }
+    }
+    
+    // Caller must hold the write lock
+    private void addDocument(Event event) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, event.getTitle(), TITLE_WEIGHT);
+        addField(weights, event.getCategory(), CATEGORY_WEIGHT);
+        addField(weights, event.getOrganizerName(), ORGANIZER_WEIGHT);
+        addField(weights, event.getLocation(), LOCATION_WEIGHT);
+        addField(weights, event.getDescription(), DESCRIPTION_WEIGHT);
+        
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(event.getId(), entry.getValue());
+        }
+        documents.put(event.getId(), event);
+        documentTerms.put(event.getId(), weights.keySet());
+    }
+    
+    // Caller must hold the write lock
+    private void removeDocument(Long eventId) {
+        Set<String> terms = documentTerms.remove(eventId);
+        documents.remove(eventId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(eventId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+    
+    private void addField(Map<String, Integer> weights, String text, int weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Integer::sum);
+        }
+    }
+    
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        Matcher matcher = WORD.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            String token = matcher.group();
+            if (!STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+    
+    private static void putHighlight(Map<String, String> highlights, String field, String text, Set<String> terms, boolean snippet) {
+        if (text == null) {
+            return;
+        }
+        Matcher matcher = WORD.matcher(text);
+        int first = -1;
+        while (matcher.find()) {
+            if (terms.contains(matcher.group().toLowerCase(Locale.ROOT))) {
+                first = matcher.start();
+                break;
+            }
+        }
+        if (first < 0) {
+            return;
+        }
+        
+        int start = 0;
+        int end = text.length();
+        if (snippet && text.length() > SNIPPET_LENGTH) {
+            start = Math.max(0, first - SNIPPET_LENGTH / 4);
+            end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        }
+        
+        // Escape everything except the <mark> tags we add, since clients render this as HTML
+        StringBuilder highlighted = new StringBuilder();
+        if (start > 0) {
+            highlighted.append("...");
+        }
+        int cursor = start;
+        matcher = WORD.matcher(text).region(start, end);
+        while (matcher.find()) {
+            if (terms.contains(matcher.group().toLowerCase(Locale.ROOT))) {
+                highlighted.append(HtmlUtils.htmlEscape(text.substring(cursor, matcher.start())))
+                    .append("<mark>").append(HtmlUtils.htmlEscape(matcher.group())).append("</mark>");
+                cursor = matcher.end();
+            }
+        }
+        highlighted.append(HtmlUtils.htmlEscape(text.substring(cursor, end)));
+        if (end < text.length()) {
+            highlighted.append("...");
+        }
+        highlights.put(field, highlighted.toString());
+    }
+}
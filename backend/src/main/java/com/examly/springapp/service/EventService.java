@@ -1,22 +1,166 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.config.CacheConfig;
+import com.examly.springapp.dto.EventPage;
+import com.examly.springapp.exception.ValidationException;
 import com.examly.springapp.model.Event;
 import com.examly.springapp.repository.EventRepository;
+import com.examly.springapp.util.Constants;
+import com.examly.springapp.util.EventCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class EventService {
     
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of(
+        "id", "title", "description", "date", "time", "location", "category",
+        "contactNumber", "latitude", "longitude", "capacity", "organizerName", "status", "createdAt");
+    // Columns a list card needs; everything except the TEXT description and contact details
+    private static final List<String> SUMMARY_FIELDS = List.of(
+        "id", "title", "date", "time", "location", "category", "organizerName", "status");
+    
     @Autowired
     private EventRepository eventRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
     public List<Event> getAllEvents() {
         return eventRepository.findAll();
     }
     
+    @Cacheable(CacheConfig.APPROVED_EVENTS)
+    public List<Event> getApprovedEvents() {
+        return eventRepository.findByStatusOrderByCreatedAtDesc(Event.Status.APPROVED);
+    }
+    
+    // Cached instances are shared; callers that mutate must load through the repository
+    @Cacheable(value = CacheConfig.EVENTS, key = "#id")
+    public Optional<Event> getEventById(Long id) {
+        return eventRepository.findById(id);
+    }
+    
+    // Caches are evicted before EventChangedEvent bumps the collection version, so a read
+    // that sees the new ETag is never paired with the list cached before the write
     public Event saveEvent(Event event) {
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        evictCached(saved.getId());
+        eventPublisher.publishEvent(EventChangedEvent.saved(saved));
+        return saved;
+    }
+    
+    public boolean deleteEvent(Long id) {
+        Optional<Event> existing = eventRepository.findById(id);
+        if (!existing.isPresent()) {
+            return false;
+        }
+        eventRepository.deleteById(id);
+        evictCached(id);
+        eventPublisher.publishEvent(EventChangedEvent.deleted(existing.get()));
+        return true;
+    }
+    
+    // status may be null for the unfiltered catalog
+    public EventPage<Event> getEventPage(Event.Status status, String cursor, Integer limit) {
+        int pageSize = clampPageSize(limit);
+        // Fetch one extra row to know whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        
+        List<Event> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = status == null
+                ? eventRepository.findAllByOrderByCreatedAtDescIdDesc(pageable)
+                : eventRepository.findByStatusOrderByCreatedAtDescIdDesc(status, pageable);
+        } else {
+            EventCursor after = EventCursor.decode(cursor);
+            rows = status == null
+                ? eventRepository.findPageAfter(after.getCreatedAt(), after.getId(), pageable)
+                : eventRepository.findPageByStatusAfter(status, after.getCreatedAt(), after.getId(), pageable);
+        }
+        
+        if (rows.size() > pageSize) {
+            List<Event> page = rows.subList(0, pageSize);
+            return new EventPage<>(page, EventCursor.of(page.get(pageSize - 1)).encode());
+        }
+        return new EventPage<>(rows, null);
+    }
+    
+    // Sparse fieldset variants: only the requested columns are selected and hydrated
+    public List<Map<String, Object>> getEventColumns(Event.Status status, String organizerName, String fields) {
+        return eventRepository.findProjected(parseFields(fields), status, organizerName, null, null);
+    }
+    
+    public EventPage<Map<String, Object>> getEventColumnPage(Event.Status status, String fields, String cursor, Integer limit) {
+        List<String> requested = parseFields(fields);
+        // The cursor needs createdAt and id from the last row even if the client did not ask for them
+        List<String> selected = new ArrayList<>(requested);
+        if (!selected.contains("createdAt")) {
+            selected.add("createdAt");
+        }
+        int pageSize = clampPageSize(limit);
+        EventCursor after = cursor == null || cursor.isEmpty() ? null : EventCursor.decode(cursor);
+        List<Map<String, Object>> rows = eventRepository.findProjected(selected, status, null, after, pageSize + 1);
+        
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            Map<String, Object> last = rows.get(pageSize - 1);
+            nextCursor = new EventCursor((LocalDateTime) last.get("createdAt"), (Long) last.get("id")).encode();
+        }
+        if (!requested.contains("createdAt")) {
+            for (Map<String, Object> row : rows) {
+                row.remove("createdAt");
+            }
+        }
+        return new EventPage<>(rows, nextCursor);
+    }
+    
+    private List<String> parseFields(String fields) {
+        if ("summary".equalsIgnoreCase(fields.trim())) {
+            return SUMMARY_FIELDS;
+        }
+        // id is always returned so clients can follow up with GET /api/events/{id}
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : Arrays.asList(fields.split(","))) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!PROJECTABLE_FIELDS.contains(name)) {
+                throw new ValidationException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return new ArrayList<>(selected);
+    }
+    
+    private void evictCached(Long id) {
+        cacheManager.getCache(CacheConfig.EVENTS).evict(id);
+        cacheManager.getCache(CacheConfig.APPROVED_EVENTS).clear();
+    }
+    
+    private int clampPageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return Constants.DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, Constants.MAX_PAGE_SIZE);
     }
-}
\ No newline at end of file
+}
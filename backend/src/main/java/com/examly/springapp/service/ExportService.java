@@ -0,0 +1,85 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.EventRegistration;
+import com.examly.springapp.model.User;
+import com.examly.springapp.repository.EventRegistrationRepository;
+import com.examly.springapp.repository.EventRepository;
+import com.examly.springapp.repository.UserRepository;
+import com.examly.springapp.util.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Writes tables as newline-delimited JSON straight from a DB cursor, one row in memory at a time
+@Service
+public class ExportService {
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Transactional(readOnly = true)
+    public long writeEvents(OutputStream out) throws IOException {
+        try (Stream<?> rows = eventRepository.streamAll()) {
+            return write(rows, out);
+        }
+    }
+    
+    // Passwords never leave the database through an export
+    @Transactional(readOnly = true)
+    public long writeUsers(OutputStream out) throws IOException {
+        try (Stream<User> users = userRepository.streamAll()) {
+            return write(users.map(user -> {
+                ObjectNode node = objectMapper.valueToTree(user);
+                node.remove("password");
+                return node;
+            }), out);
+        }
+    }
+    
+    // eventId may be null to export every registration
+    @Transactional(readOnly = true)
+    public long writeRegistrations(Long eventId, OutputStream out) throws IOException {
+        try (Stream<EventRegistration> rows = eventId == null
+                ? eventRegistrationRepository.streamAll()
+                : eventRegistrationRepository.streamByEventId(eventId)) {
+            return write(rows, out);
+        }
+    }
+    
+    private long write(Stream<?> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Iterator<?> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            out.write(objectMapper.writeValueAsBytes(iterator.next()));
+            out.write('\n');
+            if (++count % Constants.EXPORT_FLUSH_INTERVAL == 0) {
+                // Push bytes to the client and drop already-written entities from the session
+                out.flush();
+                entityManager.clear();
+            }
+        }
+        out.flush();
+        return count;
+    }
+}
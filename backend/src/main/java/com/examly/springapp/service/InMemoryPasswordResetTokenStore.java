@@ -0,0 +1,102 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.util.HashedTimerWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single-instance reset token store. Tokens expire off a hashed timer wheel, so memory is
+// bounded by the issue rate times the TTL and nothing is scanned on read; consume still
+// checks the deadline because the wheel only fires on its next tick.
+@Component
+@ConditionalOnProperty(name = "security.password.reset-tokens.store", havingValue = "memory")
+public class InMemoryPasswordResetTokenStore implements PasswordResetTokenStore {
+    
+    private final HashedTimerWheel<Entry> wheel;
+    private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Entry> tokensByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong expired = new AtomicLong();
+    
+    public InMemoryPasswordResetTokenStore(@Value("${security.password.reset-tokens.tick-ms:1000}") long tickMs,
+                                           @Value("${security.password.reset-tokens.wheel-size:512}") int wheelSize) {
+        this.wheel = new HashedTimerWheel<>(tickMs, wheelSize);
+    }
+    
+    @Override
+    public void save(String tokenHash, String email, long ttlMillis) {
+        Entry entry = new Entry(tokenHash, email, System.currentTimeMillis() + ttlMillis);
+        tokens.put(tokenHash, entry);
+        entry.timeout = wheel.schedule(entry, ttlMillis);
+        // Publishing the entry by email last means exactly one of two racing saves survives
+        Entry previous = tokensByEmail.put(email, entry);
+        if (previous != null) {
+            forget(previous);
+        }
+    }
+    
+    @Override
+    public boolean isValid(String tokenHash) {
+        Entry entry = tokens.get(tokenHash);
+        return entry != null && entry.expiresAt > System.currentTimeMillis();
+    }
+    
+    @Override
+    public Optional<String> consume(String tokenHash) {
+        Entry entry = tokens.remove(tokenHash);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        forget(entry);
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.email);
+    }
+    
+    @Scheduled(fixedRateString = "${security.password.reset-tokens.tick-ms:1000}")
+    public void tick() {
+        wheel.advance(System.currentTimeMillis(), entry -> {
+            if (tokens.remove(entry.tokenHash, entry)) {
+                expired.incrementAndGet();
+            }
+            tokensByEmail.remove(entry.email, entry);
+        });
+    }
+    
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("store", "memory");
+        stats.put("outstanding", tokens.size());
+        stats.put("expired", expired.get());
+        return stats;
+    }
+    
+    private void forget(Entry entry) {
+        tokens.remove(entry.tokenHash, entry);
+        tokensByEmail.remove(entry.email, entry);
+        if (entry.timeout != null) {
+            entry.timeout.cancel();
+        }
+    }
+    
+    private static final class Entry {
+        private final String tokenHash;
+        private final String email;
+        private final long expiresAt;
+        private volatile HashedTimerWheel.Timeout<Entry> timeout;
+        
+        private Entry(String tokenHash, String email, long expiresAt) {
+            this.tokenHash = tokenHash;
+            this.email = email;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.config.AsyncConfig;
+import com.examly.springapp.exception.PasswordHashingBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// BCrypt hashing and verification, run only on the bounded password hashing pool so the
+// CPU cost of a login storm is capped there. Without a configured cost, the highest cost
+// that hashes within target-hash-ms on this machine is chosen at startup.
+@Service
+public class PasswordHashingService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+    
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+    private static final int MIN_COST = 10;
+    private static final int MAX_COST = 16;
+    
+    @Autowired
+    @Qualifier(AsyncConfig.PASSWORD_HASHING_EXECUTOR)
+    private Executor hashingExecutor;
+    
+    private final BCryptPasswordEncoder encoder;
+    private final int cost;
+    private final String decoyHash;
+    
+    public PasswordHashingService(@Value("${security.password.bcrypt-cost:0}") int configuredCost,
+                                  @Value("${security.password.target-hash-ms:250}") long targetHashMillis) {
+        this.cost = configuredCost > 0 ? configuredCost : benchmarkCost(targetHashMillis);
+        this.encoder = new BCryptPasswordEncoder(cost);
+        this.decoyHash = encoder.encode(UUID.randomUUID().toString());
+        logger.info("Password hashing uses BCrypt cost {}", cost);
+    }
+    
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+    
+    public CompletableFuture<Boolean> matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (!isHashed(storedPassword)) {
+            // Plaintext rows from before hashing; they are rehashed on their next successful login
+            return CompletableFuture.completedFuture(MessageDigest.isEqual(
+                storedPassword.getBytes(StandardCharsets.UTF_8), rawPassword.getBytes(StandardCharsets.UTF_8)));
+        }
+        return submit(() -> encoder.matches(rawPassword, storedPassword));
+    }
+    
+    // Spends the same work as a real check, for usernames that do not exist
+    public CompletableFuture<Boolean> matchesNothing(String rawPassword) {
+        return submit(() -> {
+            encoder.matches(rawPassword == null ? "" : rawPassword, decoyHash);
+            return false;
+        });
+    }
+    
+    public boolean needsRehash(String storedPassword) {
+        return storedPassword == null || !isHashed(storedPassword) || encoder.upgradeEncoding(storedPassword);
+    }
+    
+    public int getCost() { return cost; }
+    
+    private boolean isHashed(String storedPassword) {
+        return BCRYPT_HASH.matcher(storedPassword).matches();
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, hashingExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                new PasswordHashingBusyException("Too many sign-ins in progress, please retry", 1));
+        }
+    }
+    
+    // Each cost step doubles the work, so one timed hash at the minimum predicts the rest
+    private static int benchmarkCost(long targetHashMillis) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_COST);
+        probe.encode("warm-up");
+        long start = System.nanoTime();
+        probe.encode("benchmark");
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        int cost = MIN_COST;
+        while (cost < MAX_COST && millis * 2 <= targetHashMillis) {
+            cost++;
+            millis *= 2;
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,70 @@
+package com.examly.springapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+
+// Issues single-use password reset tokens. Only the SHA-256 of a token reaches the store,
+// so whoever can read the store still cannot use what is in it.
+@Service
+public class PasswordResetTokenService {
+    
+    private static final int TOKEN_BYTES = 32;
+    
+    private final PasswordResetTokenStore store;
+    private final long ttlMillis;
+    private final SecureRandom random = new SecureRandom();
+    
+    public PasswordResetTokenService(PasswordResetTokenStore store,
+                                     @Value("${security.password.reset-tokens.ttl-ms:900000}") long ttlMillis) {
+        this.store = store;
+        this.ttlMillis = ttlMillis;
+    }
+    
+    public String issue(String email) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        store.save(hash(token), email, ttlMillis);
+        return token;
+    }
+    
+    // Checks the token without using it up
+    public boolean isValid(String token) {
+        return token != null && !token.isEmpty() && store.isValid(hash(token));
+    }
+    
+    // Returns the email the token was issued for; the token cannot be used again
+    public Optional<String> consume(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        return store.consume(hash(token));
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = store.getStats();
+        stats.put("ttlMs", ttlMillis);
+        return stats;
+    }
+    
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.examly.springapp.service;
+
+import java.util.Map;
+import java.util.Optional;
+
+// Storage for outstanding password resets. Stores only ever see token hashes, and a token
+// can be consumed once.
+public interface PasswordResetTokenStore {
+    
+    // Replaces any token already outstanding for the email
+    void save(String tokenHash, String email, long ttlMillis);
+    
+    // True while the token is outstanding and unexpired; does not consume it
+    boolean isValid(String tokenHash);
+    
+    // Removes the token and returns its email, or empty if unknown, used or expired
+    Optional<String> consume(String tokenHash);
+    
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,30 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.EventRegistration;
+
+import java.util.List;
+
+// Published by RegistrationCounterService inside the writing transaction; listeners that
+// mirror registrations in memory should use @TransactionalEventListener so rollbacks are ignored
+public class RegistrationChangedEvent {
+    
+    private final List<EventRegistration> registrations;
+    private final boolean removed;
+    
+    private RegistrationChangedEvent(List<EventRegistration> registrations, boolean removed) {
+        this.registrations = registrations;
+        this.removed = removed;
+    }
+    
+    public static RegistrationChangedEvent added(List<EventRegistration> registrations) {
+        return new RegistrationChangedEvent(registrations, false);
+    }
+    
+    public static RegistrationChangedEvent removed(List<EventRegistration> registrations) {
+        return new RegistrationChangedEvent(registrations, true);
+    }
+    
+    public List<EventRegistration> getRegistrations() { return registrations; }
+    
+    public boolean isRemoved() { return removed; }
+}
@@ -0,0 +1,149 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Event;
+import com.examly.springapp.model.EventRegistration;
+import com.examly.springapp.model.RegistrationCounter;
+import com.examly.springapp.repository.EventRegistrationRepository;
+import com.examly.springapp.repository.RegistrationCounterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Registration writes go through here so the per-event and per-organizer counters
+// change in the same transaction as the rows they count.
+@Service
+public class RegistrationCounterService {
+    
+    private static final String EVENT_PREFIX = "event:";
+    private static final String ORGANIZER_PREFIX = "organizer:";
+    
+    @Autowired
+    private RegistrationCounterRepository registrationCounterRepository;
+    
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+    
+    @Autowired
+    private EventService eventService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional
+    public EventRegistration insert(EventRegistration registration) {
+        EventRegistration saved = eventRegistrationRepository.saveAndFlush(registration);
+        adjust(saved.getEventId(), 1);
+        eventPublisher.publishEvent(RegistrationChangedEvent.added(Collections.singletonList(saved)));
+        return saved;
+    }
+    
+    @Transactional
+    public List<EventRegistration> insertAll(List<EventRegistration> registrations) {
+        List<EventRegistration> saved = eventRegistrationRepository.insertBatch(registrations);
+        saved.stream()
+            .collect(Collectors.groupingBy(EventRegistration::getEventId, Collectors.counting()))
+            .forEach(this::adjust);
+        eventPublisher.publishEvent(RegistrationChangedEvent.added(saved));
+        return saved;
+    }
+    
+    // Resolves only the id, not the row, so listeners keyed by registration id can drop it;
+    // false when there was nothing to delete
+    @Transactional
+    public boolean delete(String username, Long eventId) {
+        Optional<Long> id = eventRegistrationRepository.findIdByUsernameAndEventId(username, eventId);
+        if (!id.isPresent() || eventRegistrationRepository.deleteRegistrationById(id.get()) == 0) {
+            return false;
+        }
+        adjust(eventId, -1);
+        EventRegistration removed = new EventRegistration(username, eventId);
+        removed.setId(id.get());
+        eventPublisher.publishEvent(RegistrationChangedEvent.removed(Collections.singletonList(removed)));
+        return true;
+    }
+    
+    @Transactional
+    public void deleteAll(List<EventRegistration> registrations) {
+        eventRegistrationRepository.deleteAllByIdInBatch(
+            registrations.stream().map(EventRegistration::getId).collect(Collectors.toList()));
+        registrations.stream()
+            .collect(Collectors.groupingBy(EventRegistration::getEventId, Collectors.counting()))
+            .forEach((eventId, count) -> adjust(eventId, -count));
+        eventPublisher.publishEvent(RegistrationChangedEvent.removed(registrations));
+    }
+    
+    // Called once a deleted event's rows are gone; the event itself can no longer be looked up
+    @Transactional
+    public void forgetEvent(Event event, long removedRegistrations) {
+        registrationCounterRepository.deleteAllByIdInBatch(Collections.singletonList(EVENT_PREFIX + event.getId()));
+        if (event.getOrganizerName() != null && removedRegistrations > 0) {
+            registrationCounterRepository.increment(ORGANIZER_PREFIX + event.getOrganizerName(), -removedRegistrations);
+        }
+    }
+    
+    public long getEventCount(Long eventId) {
+        return read(EVENT_PREFIX + eventId);
+    }
+    
+    public long getOrganizerCount(String organizerName) {
+        return read(ORGANIZER_PREFIX + organizerName);
+    }
+    
+    // Repairs drift (deleted events, organizer renames, rows written elsewhere) by applying
+    // actual - stored as a delta, so increments committed meanwhile are not overwritten.
+    // Also runs at startup, which seeds the counters for registrations that predate them.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${registration.counter-reconcile-interval-ms:300000}",
+               initialDelayString = "${registration.counter-reconcile-interval-ms:300000}")
+    @Transactional
+    public void reconcile() {
+        Map<String, Long> actual = new HashMap<>();
+        for (Object[] row : eventRegistrationRepository.countGroupedByEvent()) {
+            actual.put(EVENT_PREFIX + row[0], (Long) row[1]);
+        }
+        for (Object[] row : eventRegistrationRepository.countGroupedByOrganizer()) {
+            if (row[0] != null) {
+                actual.put(ORGANIZER_PREFIX + row[0], (Long) row[1]);
+            }
+        }
+        Map<String, Long> stored = new HashMap<>();
+        for (RegistrationCounter counter : registrationCounterRepository.findAll()) {
+            stored.put(counter.getCounterKey(), counter.getRegistrations());
+        }
+        
+        Set<String> keys = new HashSet<>(actual.keySet());
+        keys.addAll(stored.keySet());
+        for (String key : keys) {
+            long delta = actual.getOrDefault(key, 0L) - stored.getOrDefault(key, 0L);
+            if (delta != 0) {
+                registrationCounterRepository.increment(key, delta);
+            }
+        }
+    }
+    
+    private void adjust(Long eventId, long delta) {
+        registrationCounterRepository.increment(EVENT_PREFIX + eventId, delta);
+        eventService.getEventById(eventId)
+            .filter(event -> event.getOrganizerName() != null)
+            .ifPresent(event -> registrationCounterRepository.increment(ORGANIZER_PREFIX + event.getOrganizerName(), delta));
+    }
+    
+    private long read(String counterKey) {
+        return registrationCounterRepository.findById(counterKey)
+            .map(counter -> Math.max(0L, counter.getRegistrations()))
+            .orElse(0L);
+    }
+}
@@ -0,0 +1,210 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.EventRegistration;
+import com.examly.springapp.repository.EventRegistrationRepository;
+import com.examly.springapp.util.CompactBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Who is registered for what, as one compressed bitmap of user ordinals per event.
+// Usernames get dense ordinals on first sight so the bitmaps stay compact. A second
+// bitmap per event holds the live registration ids, so a door ticket from a cancelled
+// registration stays dead after its holder registers again. Until the startup load
+// finishes, checks fall back to the database.
+@Service
+public class RegistrationMembershipIndex {
+    
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+    
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+    private final Map<Long, CompactBitmap> members = new HashMap<>();
+    private final Map<Long, CompactBitmap> registrationIds = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Changes committed while the load streams are replayed on top of it; guarded by the write lock
+    private final List<RegistrationChangedEvent> pending = new ArrayList<>();
+    private volatile boolean ready;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            members.clear();
+            registrationIds.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<Long, CompactBitmap> loaded = new HashMap<>();
+        Map<Long, CompactBitmap> loadedIds = new HashMap<>();
+        try (Stream<EventRegistration> registrations = eventRegistrationRepository.streamAll()) {
+            registrations.forEach(registration -> {
+                loaded.computeIfAbsent(registration.getEventId(), id -> new CompactBitmap())
+                    .add(ordinal(registration.getUsername()));
+                loadedIds.computeIfAbsent(registration.getEventId(), id -> new CompactBitmap())
+                    .add(registration.getId().intValue());
+            });
+        }
+        lock.writeLock().lock();
+        try {
+            members.putAll(loaded);
+            registrationIds.putAll(loadedIds);
+            pending.forEach(this::apply);
+            pending.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(change);
+            } else {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Drops a deleted event's bitmap; its registration rows are removed separately
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.isDeleted()) {
+            lock.writeLock().lock();
+            try {
+                members.remove(change.getEventId());
+                registrationIds.remove(change.getEventId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+    
+    public boolean isRegistered(String username, Long eventId) {
+        if (!ready) {
+            return eventRegistrationRepository.existsByUsernameAndEventId(username, eventId);
+        }
+        Integer ordinal = ordinals.get(username);
+        if (ordinal == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            CompactBitmap bitmap = members.get(eventId);
+            return bitmap != null && bitmap.contains(ordinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Registration ids are handed out from 1 and stay within int range, like the attendance bitmaps
+    public boolean isCurrentRegistration(Long registrationId, Long eventId) {
+        if (!ready) {
+            return eventRegistrationRepository.existsByIdAndEventId(registrationId, eventId);
+        }
+        if (registrationId <= 0 || registrationId > Integer.MAX_VALUE) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            CompactBitmap bitmap = registrationIds.get(eventId);
+            return bitmap != null && bitmap.contains(registrationId.intValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public Map<Long, Boolean> areRegistered(String username, Collection<Long> eventIds) {
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        if (!ready) {
+            for (Long eventId : eventIds) {
+                result.put(eventId, eventRegistrationRepository.existsByUsernameAndEventId(username, eventId));
+            }
+            return result;
+        }
+        Integer ordinal = ordinals.get(username);
+        lock.readLock().lock();
+        try {
+            for (Long eventId : eventIds) {
+                CompactBitmap bitmap = members.get(eventId);
+                result.put(eventId, ordinal != null && bitmap != null && bitmap.contains(ordinal));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+    
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            long registrations = 0;
+            long bytes = 0;
+            for (CompactBitmap bitmap : members.values()) {
+                registrations += bitmap.cardinality();
+                bytes += bitmap.sizeInBytes();
+            }
+            for (CompactBitmap bitmap : registrationIds.values()) {
+                bytes += bitmap.sizeInBytes();
+            }
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("ready", ready);
+            stats.put("events", members.size());
+            stats.put("users", ordinals.size());
+            stats.put("registrations", registrations);
+            stats.put("bitmapBytes", bytes);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void apply(RegistrationChangedEvent change) {
+        for (EventRegistration registration : change.getRegistrations()) {
+            int ordinal = ordinal(registration.getUsername());
+            int registrationId = registration.getId().intValue();
+            if (change.isRemoved()) {
+                remove(members, registration.getEventId(), ordinal);
+                remove(registrationIds, registration.getEventId(), registrationId);
+            } else {
+                members.computeIfAbsent(registration.getEventId(), id -> new CompactBitmap()).add(ordinal);
+                registrationIds.computeIfAbsent(registration.getEventId(), id -> new CompactBitmap()).add(registrationId);
+            }
+        }
+    }
+    
+    private static void remove(Map<Long, CompactBitmap> bitmaps, Long eventId, int value) {
+        CompactBitmap bitmap = bitmaps.get(eventId);
+        if (bitmap != null && bitmap.remove(value) && bitmap.cardinality() == 0) {
+            bitmaps.remove(eventId);
+        }
+    }
+    
+    private int ordinal(String username) {
+        return ordinals.computeIfAbsent(username, name -> nextOrdinal.getAndIncrement());
+    }
+}
@@ -0,0 +1,213 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.exception.ResourceNotFoundException;
+import com.examly.springapp.model.Event;
+import com.examly.springapp.model.Venue;
+import com.examly.springapp.repository.EventRegistrationRepository;
+import com.examly.springapp.repository.EventRepository;
+import com.examly.springapp.repository.VenueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Per-event seat counters admitting registrations with a CAS loop instead of row locks.
+// taken counts confirmed, held and in-flight seats, so it can never exceed capacity. Every
+// database write is bracketed by inFlight so the reconciler never races a pending change.
+@Service
+public class SeatCounterService {
+    
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private VenueRepository venueRepository;
+    
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+    
+    private final Map<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+    
+    // Claims a seat before the registration row is written; false when the event is full
+    public boolean tryReserve(Long eventId) {
+        return counter(eventId).tryReserve();
+    }
+    
+    // The registration row was written
+    public void confirm(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        if (counter != null) {
+            counter.inFlight.decrementAndGet();
+        }
+    }
+    
+    // The registration row was not written; give the seat back
+    public void cancel(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        if (counter != null) {
+            counter.inFlight.decrementAndGet();
+            counter.release();
+        }
+    }
+    
+    // Claims a seat for a time-limited hold; no row is written until the hold converts
+    public boolean hold(Long eventId) {
+        SeatCounter counter = counter(eventId);
+        if (!counter.tryReserve()) {
+            return false;
+        }
+        counter.held.incrementAndGet();
+        counter.inFlight.decrementAndGet();
+        return true;
+    }
+    
+    // The hold expired or was released without a registration
+    public void releaseHold(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        if (counter != null) {
+            counter.inFlight.incrementAndGet();
+            counter.held.decrementAndGet();
+            counter.release();
+            counter.inFlight.decrementAndGet();
+        }
+    }
+    
+    // Turns a held seat back into an in-flight reservation; follow with confirm or cancel
+    public void beginConvert(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        if (counter != null) {
+            counter.inFlight.incrementAndGet();
+            counter.held.decrementAndGet();
+        }
+    }
+    
+    // Call before deleting a registration row, then endRelease once the delete has run
+    public void beginRelease(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        if (counter != null) {
+            counter.inFlight.incrementAndGet();
+        }
+    }
+    
+    public void endRelease(Long eventId, int released) {
+        SeatCounter counter = counters.get(eventId);
+        if (counter != null) {
+            for (int i = 0; i < released; i++) {
+                counter.release();
+            }
+            counter.inFlight.decrementAndGet();
+        }
+    }
+    
+    public Map<String, Object> availability(Long eventId) {
+        SeatCounter counter = counter(eventId);
+        int taken = counter.taken.get();
+        int held = counter.held.get();
+        Map<String, Object> availability = new HashMap<>();
+        availability.put("eventId", eventId);
+        availability.put("capacity", counter.capacity == UNLIMITED ? null : counter.capacity);
+        availability.put("registered", Math.max(0, taken - held));
+        availability.put("held", held);
+        availability.put("remaining", counter.capacity == UNLIMITED ? null : Math.max(0, counter.capacity - taken));
+        return availability;
+    }
+    
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.isDeleted()) {
+            counters.remove(change.getEventId());
+            return;
+        }
+        SeatCounter counter = counters.get(change.getEventId());
+        if (counter != null) {
+            counter.capacity = resolveCapacity(change.getEvent());
+        }
+    }
+    
+    // Repairs drift against the database (e.g. rows removed outside this service).
+    // Only counters with nothing in flight are touched, and only if taken did not move meanwhile;
+    // held seats have no row yet and are added to the database count.
+    @Scheduled(fixedDelayString = "${registration.seat-reconcile-interval-ms:60000}")
+    public void reconcile() {
+        for (Map.Entry<Long, SeatCounter> entry : counters.entrySet()) {
+            SeatCounter counter = entry.getValue();
+            int snapshot = counter.taken.get();
+            if (counter.inFlight.get() != 0) {
+                continue;
+            }
+            int actual = eventRegistrationRepository.countByEventId(entry.getKey()).intValue() + counter.held.get();
+            if (counter.inFlight.get() == 0 && actual != snapshot) {
+                counter.taken.compareAndSet(snapshot, actual);
+            }
+        }
+    }
+    
+    private SeatCounter counter(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        if (counter != null) {
+            return counter;
+        }
+        // Loaded outside the map so concurrent first callers never block on the database;
+        // whichever finishes first wins and the others adopt it.
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new ResourceNotFoundException("Event not found: " + eventId));
+        int registered = eventRegistrationRepository.countByEventId(eventId).intValue();
+        SeatCounter loaded = new SeatCounter(resolveCapacity(event), registered);
+        SeatCounter existing = counters.putIfAbsent(eventId, loaded);
+        return existing != null ? existing : loaded;
+    }
+    
+    private int resolveCapacity(Event event) {
+        if (event.getCapacity() != null) {
+            return event.getCapacity();
+        }
+        Venue venue = venueRepository.findByVenueName(event.getLocation());
+        if (venue != null && venue.getCapacity() != null) {
+            return venue.getCapacity();
+        }
+        return UNLIMITED;
+    }
+    
+    private static final class SeatCounter {
+        private volatile int capacity;
+        private final AtomicInteger taken;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger held = new AtomicInteger();
+        
+        SeatCounter(int capacity, int taken) {
+            this.capacity = capacity;
+            this.taken = new AtomicInteger(taken);
+        }
+        
+        boolean tryReserve() {
+            // Raised first so the reconciler backs off before taken can move
+            inFlight.incrementAndGet();
+            while (true) {
+                int current = taken.get();
+                if (current >= capacity) {
+                    inFlight.decrementAndGet();
+                    return false;
+                }
+                if (taken.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+        
+        void release() {
+            while (true) {
+                int current = taken.get();
+                if (current == 0 || taken.compareAndSet(current, current - 1)) {
+                    return;
+                }
+            }
+        }
+    }
+}
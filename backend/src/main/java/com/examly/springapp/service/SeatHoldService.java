@@ -0,0 +1,163 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.RegistrationResult;
+import com.examly.springapp.dto.SeatHold;
+import com.examly.springapp.exception.CapacityExceededException;
+import com.examly.springapp.exception.ResourceNotFoundException;
+import com.examly.springapp.exception.ValidationException;
+import com.examly.springapp.util.HashedTimerWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time-limited seat holds. A hold claims a seat from SeatCounterService without writing a
+// row; confirming it writes the registration into that seat, and an unconfirmed hold is
+// released by a hashed timer wheel ticking in memory, so tens of thousands of outstanding
+// holds cost one bucket visit per tick and no database polling. Holds live in memory only;
+// after a restart the seat reconciler drops any seat a lost hold was keeping.
+@Service
+public class SeatHoldService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldService.class);
+    
+    @Value("${registration.holds.duration-ms:600000}")
+    private long holdDurationMs;
+    
+    @Autowired
+    private SeatCounterService seatCounterService;
+    
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+    
+    @Autowired
+    private RegistrationMembershipIndex registrationMembershipIndex;
+    
+    private final HashedTimerWheel<SeatHold> wheel;
+    private final Map<String, SeatHold> holds = new ConcurrentHashMap<>();
+    private final Map<String, SeatHold> holdsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong expired = new AtomicLong();
+    
+    public SeatHoldService(@Value("${registration.holds.tick-ms:1000}") long tickMs,
+                           @Value("${registration.holds.wheel-size:512}") int wheelSize) {
+        this.wheel = new HashedTimerWheel<>(tickMs, wheelSize);
+    }
+    
+    // Idempotent per user and event: asking again returns the hold already running
+    public SeatHold hold(String username, Long eventId) {
+        if (username == null || username.trim().isEmpty() || eventId == null) {
+            throw new ValidationException("Missing username or eventId");
+        }
+        if (registrationMembershipIndex.isRegistered(username, eventId)) {
+            throw new ValidationException("Already registered for this event");
+        }
+        String userKey = eventId + ":" + username;
+        SeatHold current = holdsByUser.get(userKey);
+        if (current != null && current.getStatus() == SeatHold.Status.HELD) {
+            return current;
+        }
+        if (!seatCounterService.hold(eventId)) {
+            throw new CapacityExceededException(EventRegistrationService.EVENT_FULL);
+        }
+        SeatHold created = new SeatHold(UUID.randomUUID().toString(), username, eventId, holdDurationMs);
+        SeatHold winner = holdsByUser.merge(userKey, created,
+            (existing, fresh) -> existing.getStatus() == SeatHold.Status.HELD ? existing : fresh);
+        if (winner != created) {
+            // A concurrent request for the same user got there first
+            eventRegistrationService.releaseHeld(eventId);
+            return winner;
+        }
+        holds.put(created.getHoldId(), created);
+        created.setTimeout(wheel.schedule(created, holdDurationMs));
+        return created;
+    }
+    
+    // Exactly one of confirm, release and expiry wins a hold. Only the holder may confirm or
+    // release it; anyone else is told it does not exist
+    public RegistrationResult confirm(String holdId, String username) {
+        SeatHold hold = getHold(holdId, username);
+        if (hold == null || !hold.finish(SeatHold.Status.CONFIRMED)) {
+            throw new ResourceNotFoundException("Seat hold not found or expired: " + holdId);
+        }
+        forget(hold);
+        return eventRegistrationService.registerHeld(hold.getUsername(), hold.getEventId());
+    }
+    
+    public boolean release(String holdId, String username) {
+        SeatHold hold = getHold(holdId, username);
+        if (hold == null || !hold.finish(SeatHold.Status.RELEASED)) {
+            return false;
+        }
+        forget(hold);
+        eventRegistrationService.releaseHeld(hold.getEventId());
+        return true;
+    }
+    
+    public SeatHold getHold(String holdId, String username) {
+        SeatHold hold = holds.get(holdId);
+        return hold != null && hold.getUsername().equals(username) ? hold : null;
+    }
+    
+    @Scheduled(fixedRateString = "${registration.holds.tick-ms:1000}")
+    public void tick() {
+        Set<Long> freed = new HashSet<>();
+        wheel.advance(System.currentTimeMillis(), hold -> {
+            if (hold.finish(SeatHold.Status.EXPIRED)) {
+                expired.incrementAndGet();
+                forget(hold);
+                seatCounterService.releaseHold(hold.getEventId());
+                freed.add(hold.getEventId());
+            }
+        });
+        // One waitlist pass per event however many of its holds lapsed this tick
+        for (Long eventId : freed) {
+            try {
+                eventRegistrationService.promoteFromWaitlist(eventId);
+            } catch (RuntimeException e) {
+                logger.warn("Waitlist promotion failed for event {}", eventId, e);
+            }
+        }
+    }
+    
+    // A deleted event's seat counter is gone, so its holds are dropped without releasing seats
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        if (!change.isDeleted()) {
+            return;
+        }
+        for (SeatHold hold : holds.values()) {
+            if (hold.getEventId().equals(change.getEventId()) && hold.finish(SeatHold.Status.RELEASED)) {
+                forget(hold);
+            }
+        }
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("outstanding", holds.size());
+        stats.put("expired", expired.get());
+        stats.put("holdDurationMs", holdDurationMs);
+        stats.put("tickMs", wheel.getTickMillis());
+        stats.put("wheelSize", wheel.getWheelSize());
+        return stats;
+    }
+    
+    private void forget(SeatHold hold) {
+        if (hold.getTimeout() != null) {
+            hold.getTimeout().cancel();
+        }
+        holds.remove(hold.getHoldId());
+        holdsByUser.remove(hold.getEventId() + ":" + hold.getUsername(), hold);
+    }
+}
@@ -0,0 +1,46 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.User;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import javax.persistence.PreUpdate;
+
+// JPA listener on User, created and autowired by Spring through Hibernate's bean container,
+// so every save and delete path evicts the user cache. Evicting again after commit stops a
+// concurrent read of the old row from re-caching it. The cache is looked up lazily because
+// Hibernate builds its listeners while the repositories the cache depends on are created.
+public class UserCacheInvalidator {
+    
+    @Autowired
+    private ObjectProvider<UserCacheService> userCacheService;
+    
+    // The old username and email are still in the cached snapshot here
+    @PreUpdate
+    public void beforeUpdate(User user) {
+        userCacheService.getObject().evict(user.getId());
+    }
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterWrite(User user) {
+        User written = new User(user.getUsername(), null, user.getEmail(), user.getRole());
+        written.setId(user.getId());
+        UserCacheService cache = userCacheService.getObject();
+        cache.evict(written);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(written);
+                }
+            });
+        }
+    }
+}
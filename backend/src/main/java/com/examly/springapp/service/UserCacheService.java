@@ -0,0 +1,188 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.User;
+import com.examly.springapp.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Read-through cache for user lookups by id, username and email. Users are held once, by
+// id, as snapshots; the username and email caches only map to ids and every hit is checked
+// against the snapshot, so a renamed user can never be served under its old name. Misses by
+// username and email are remembered briefly so signup availability checks skip the database.
+// UserCacheInvalidator evicts on every insert, update and delete, at flush and again after
+// commit; a load that overlaps an eviction is returned but not cached. Callers get copies,
+// so write paths should still load managed entities from UserRepository.
+@Service
+public class UserCacheService {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private final Cache<Long, User> byId;
+    private final Cache<String, Long> idByUsername;
+    private final Cache<String, Long> idByEmail;
+    private final Cache<String, Boolean> missingUsernames;
+    private final Cache<String, Boolean> missingEmails;
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public UserCacheService(@Value("${users.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${users.cache.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${users.cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.byId = build(maximumSize, ttlSeconds);
+        this.idByUsername = build(maximumSize, ttlSeconds);
+        this.idByEmail = build(maximumSize, ttlSeconds);
+        this.missingUsernames = build(maximumSize, negativeTtlSeconds);
+        this.missingEmails = build(maximumSize, negativeTtlSeconds);
+    }
+    
+    public Optional<User> findById(Long id) {
+        User cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        long generation = evictions.get();
+        Optional<User> loaded = userRepository.findById(id);
+        loaded.ifPresent(user -> remember(user, generation));
+        return loaded.map(this::copy);
+    }
+    
+    public Optional<User> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        if (missingUsernames.getIfPresent(username) != null) {
+            return Optional.empty();
+        }
+        Long id = idByUsername.getIfPresent(username);
+        User cached = id == null ? null : byId.getIfPresent(id);
+        if (cached != null && username.equals(cached.getUsername())) {
+            return Optional.of(copy(cached));
+        }
+        long generation = evictions.get();
+        Optional<User> loaded = userRepository.findByUsername(username);
+        if (loaded.isPresent()) {
+            remember(loaded.get(), generation);
+        } else if (evictions.get() == generation) {
+            missingUsernames.put(username, Boolean.TRUE);
+        }
+        return loaded.map(this::copy);
+    }
+    
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        if (missingEmails.getIfPresent(email) != null) {
+            return Optional.empty();
+        }
+        Long id = idByEmail.getIfPresent(email);
+        User cached = id == null ? null : byId.getIfPresent(id);
+        if (cached != null && email.equals(cached.getEmail())) {
+            return Optional.of(copy(cached));
+        }
+        long generation = evictions.get();
+        Optional<User> loaded = userRepository.findByEmail(email);
+        if (loaded.isPresent()) {
+            remember(loaded.get(), generation);
+        } else if (evictions.get() == generation) {
+            missingEmails.put(email, Boolean.TRUE);
+        }
+        return loaded.map(this::copy);
+    }
+    
+    public boolean existsByUsername(String username) {
+        return findByUsername(username).isPresent();
+    }
+    
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+    
+    // Drops every key the user was or now is reachable under, including cached misses
+    public void evict(User user) {
+        evictions.incrementAndGet();
+        if (user.getId() != null) {
+            evict(user.getId());
+        }
+        forgetKeys(user);
+    }
+    
+    public void evict(Long id) {
+        evictions.incrementAndGet();
+        User previous = byId.getIfPresent(id);
+        byId.invalidate(id);
+        if (previous != null) {
+            forgetKeys(previous);
+        }
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("byId", stats(byId));
+        stats.put("byUsername", stats(idByUsername));
+        stats.put("byEmail", stats(idByEmail));
+        stats.put("missingUsernames", stats(missingUsernames));
+        stats.put("missingEmails", stats(missingEmails));
+        return stats;
+    }
+    
+    private void remember(User user, long generation) {
+        if (evictions.get() != generation) {
+            return;
+        }
+        byId.put(user.getId(), copy(user));
+        if (user.getUsername() != null) {
+            idByUsername.put(user.getUsername(), user.getId());
+        }
+        if (user.getEmail() != null) {
+            idByEmail.put(user.getEmail(), user.getId());
+        }
+    }
+    
+    private void forgetKeys(User user) {
+        if (user.getUsername() != null) {
+            idByUsername.invalidate(user.getUsername());
+            missingUsernames.invalidate(user.getUsername());
+        }
+        if (user.getEmail() != null) {
+            idByEmail.invalidate(user.getEmail());
+            missingEmails.invalidate(user.getEmail());
+        }
+    }
+    
+    private User copy(User user) {
+        User copy = new User(user.getUsername(), user.getPassword(), user.getEmail(), user.getRole());
+        copy.setId(user.getId());
+        copy.setContactNumber(user.getContactNumber());
+        return copy;
+    }
+    
+    private static <K, V> Cache<K, V> build(long maximumSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+    
+    private static Map<String, Object> stats(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> cacheStats = new HashMap<>();
+        cacheStats.put("size", cache.estimatedSize());
+        cacheStats.put("hits", stats.hitCount());
+        cacheStats.put("misses", stats.missCount());
+        cacheStats.put("hitRate", stats.hitRate());
+        cacheStats.put("evictions", stats.evictionCount());
+        return cacheStats;
+    }
+}
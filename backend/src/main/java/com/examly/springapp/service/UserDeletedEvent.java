@@ -0,0 +1,17 @@
+package com.examly.springapp.service;
+
+// Published by UserService after a user row is deleted
+public class UserDeletedEvent {
+    
+    private final Long userId;
+    private final String username;
+    
+    public UserDeletedEvent(Long userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+    
+    public Long getUserId() { return userId; }
+    
+    public String getUsername() { return username; }
+}
@@ -3,6 +3,7 @@ package com.examly.springapp.service;
 import com.examly.springapp.model.User;
 import com.examly.springapp.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -13,6 +14,9 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -21,8 +25,15 @@ public class UserService {
         return userRepository.findById(id);
     }
     
-    public void deleteUser(Long id) {
+    // Registrations, waitlist entries and reviews are removed asynchronously by CascadeCleanupService
+    public boolean deleteUser(Long id) {
+        Optional<User> existing = userRepository.findById(id);
+        if (!existing.isPresent()) {
+            return false;
+        }
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id, existing.get().getUsername()));
+        return true;
     }
     
     public User saveUser(User user) {
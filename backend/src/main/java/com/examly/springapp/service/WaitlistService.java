@@ -0,0 +1,74 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.EventRegistration;
+import com.examly.springapp.model.WaitlistEntry;
+import com.examly.springapp.repository.EventRegistrationRepository;
+import com.examly.springapp.repository.WaitlistRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Per-event FIFO waitlist persisted in event_waitlist. Joining is a single insert and
+// promotion claims the head row with a single-row delete, so concurrent cancellations
+// never promote the same entry twice and no table lock is taken.
+@Service
+public class WaitlistService {
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+    
+    @Autowired
+    private RegistrationCounterService registrationCounterService;
+    
+    public WaitlistEntry join(String username, Long eventId) {
+        try {
+            return waitlistRepository.save(new WaitlistEntry(username, eventId));
+        } catch (DataIntegrityViolationException e) {
+            return waitlistRepository.findByUsernameAndEventId(username, eventId).orElseThrow(() -> e);
+        }
+    }
+    
+    @Transactional
+    public boolean leave(String username, Long eventId) {
+        return waitlistRepository.deleteByUsernameAndEventId(username, eventId) > 0;
+    }
+    
+    public Optional<Long> position(String username, Long eventId) {
+        return waitlistRepository.findByUsernameAndEventId(username, eventId).map(this::position);
+    }
+    
+    public long position(WaitlistEntry entry) {
+        return waitlistRepository.countByEventIdAndIdLessThan(entry.getEventId(), entry.getId()) + 1;
+    }
+    
+    public boolean hasWaiting(Long eventId) {
+        return waitlistRepository.existsByEventId(eventId);
+    }
+    
+    public long countWaiting(Long eventId) {
+        return waitlistRepository.countByEventId(eventId);
+    }
+    
+    // Moves the oldest claimable entry into a registration in one transaction. Returns null
+    // when the queue is empty or every head candidate was claimed by a concurrent promoter;
+    // callers retry in a fresh transaction so the next read sees those deletions.
+    @Transactional
+    public EventRegistration promoteNext(Long eventId) {
+        for (WaitlistEntry entry : waitlistRepository.findTop5ByEventIdOrderByIdAsc(eventId)) {
+            if (waitlistRepository.claim(entry.getId()) == 0) {
+                continue;
+            }
+            // Registered some other way meanwhile; the claimed entry is simply dropped
+            if (!eventRegistrationRepository.existsByUsernameAndEventId(entry.getUsername(), eventId)) {
+                return registrationCounterService.insert(new EventRegistration(entry.getUsername(), eventId));
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,165 @@
+package com.examly.springapp.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Roaring-style bitmap of non-negative ints. Values are bucketed on their high 16 bits;
+// a bucket is a sorted char array while it holds at most 4096 values and a 65536-bit
+// word array beyond that, so sparse and dense sets both stay small. Not thread-safe.
+public class CompactBitmap {
+    
+    private static final int ARRAY_LIMIT = 4096;
+    
+    private final Map<Integer, Container> containers = new HashMap<>();
+    private int cardinality;
+    
+    public boolean add(int value) {
+        int key = value >>> 16;
+        Container container = containers.get(key);
+        if (container == null) {
+            container = new ArrayContainer();
+            containers.put(key, container);
+        }
+        if (!container.add((char) value)) {
+            return false;
+        }
+        if (container instanceof ArrayContainer && container.size() > ARRAY_LIMIT) {
+            containers.put(key, ((ArrayContainer) container).toBitmap());
+        }
+        cardinality++;
+        return true;
+    }
+    
+    public boolean remove(int value) {
+        int key = value >>> 16;
+        Container container = containers.get(key);
+        if (container == null || !container.remove((char) value)) {
+            return false;
+        }
+        if (container.size() == 0) {
+            containers.remove(key);
+        } else if (container instanceof BitmapContainer && container.size() <= ARRAY_LIMIT / 2) {
+            // Half the limit so a bucket hovering at the threshold does not flip on every write
+            containers.put(key, ((BitmapContainer) container).toArray());
+        }
+        cardinality--;
+        return true;
+    }
+    
+    public boolean contains(int value) {
+        Container container = containers.get(value >>> 16);
+        return container != null && container.contains((char) value);
+    }
+    
+    public int cardinality() {
+        return cardinality;
+    }
+    
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (Container container : containers.values()) {
+            bytes += container.sizeInBytes();
+        }
+        return bytes;
+    }
+    
+    private interface Container {
+        boolean add(char value);
+        boolean remove(char value);
+        boolean contains(char value);
+        int size();
+        long sizeInBytes();
+    }
+    
+    private static final class ArrayContainer implements Container {
+        private char[] values = new char[4];
+        private int size;
+        
+        public boolean add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return false;
+            }
+            int insertAt = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT + 1, size * 2));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            values[insertAt] = value;
+            size++;
+            return true;
+        }
+        
+        public boolean remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return true;
+        }
+        
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+        
+        public int size() { return size; }
+        
+        public long sizeInBytes() { return values.length * 2L; }
+        
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+    
+    private static final class BitmapContainer implements Container {
+        private final long[] words = new long[1024];
+        private int size;
+        
+        public boolean add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                return false;
+            }
+            words[value >>> 6] |= bit;
+            size++;
+            return true;
+        }
+        
+        public boolean remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                return false;
+            }
+            words[value >>> 6] &= ~bit;
+            size--;
+            return true;
+        }
+        
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+        
+        public int size() { return size; }
+        
+        public long sizeInBytes() { return words.length * 8L; }
+        
+        ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    array.add((char) (i * 64 + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+            return array;
+        }
+    }
+}
@@ -12,9 +12,16 @@ public class Constants {
     public static final String STATUS_CONFIRMED = "CONFIRMED";
     public static final String STATUS_CANCELLED = "CANCELLED";
     
-    public static final String JWT_SECRET = "mySecretKey";
     public static final long JWT_EXPIRATION = 86400000; // 24 hours
     
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int EXPORT_FLUSH_INTERVAL = 500;
+    public static final int MAX_BULK_REGISTRATIONS = 500;
+    public static final int CLEANUP_BATCH_SIZE = 500;
+    public static final int MAX_CHECK_IN_BATCH = 500;
+    public static final int ATTENDANCE_FLUSH_BATCH = 500;
+    
     public static final String SUCCESS_MESSAGE = "Operation completed successfully";
     public static final String ERROR_MESSAGE = "An error occurred";
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.examly.springapp.util;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+// Hashed timer wheel (Varghese & Lauck). A timeout lands in bucket deadlineTick % wheelSize,
+// so scheduling and cancelling are O(1) and each tick only visits one bucket regardless of
+// how many timeouts are outstanding. Timeouts more than one revolution out stay in their
+// bucket until their deadline tick comes round. Any thread may schedule or cancel;
+// advance is driven by a single ticker and never expires anything early.
+public class HashedTimerWheel<T> {
+    
+    private final long tickMillis;
+    private final int mask;
+    private final Queue<Timeout<T>>[] buckets;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final long startMillis;
+    private long currentTick;
+    
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickMillis, int wheelSize) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.startMillis = System.currentTimeMillis();
+    }
+    
+    public Timeout<T> schedule(T item, long delayMillis) {
+        // Rounded up so a timeout never fires before its delay has elapsed
+        long deadline = System.currentTimeMillis() + Math.max(0, delayMillis) - startMillis;
+        Timeout<T> timeout = new Timeout<>(item, (deadline + tickMillis - 1) / tickMillis);
+        pending.add(timeout);
+        return timeout;
+    }
+    
+    // Runs every tick up to now, handing expired items to onExpire; returns how many expired
+    public synchronized int advance(long nowMillis, Consumer<T> onExpire) {
+        long targetTick = (nowMillis - startMillis) / tickMillis;
+        int expired = 0;
+        while (currentTick <= targetTick) {
+            transferPending();
+            Queue<Timeout<T>> bucket = buckets[(int) (currentTick & mask)];
+            for (int i = bucket.size(); i > 0; i--) {
+                Timeout<T> timeout = bucket.poll();
+                if (timeout.cancelled) {
+                    continue;
+                }
+                if (timeout.deadlineTick > currentTick) {
+                    bucket.add(timeout);
+                    continue;
+                }
+                expired++;
+                onExpire.accept(timeout.item);
+            }
+            currentTick++;
+        }
+        return expired;
+    }
+    
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (!timeout.cancelled) {
+                buckets[(int) (Math.max(timeout.deadlineTick, currentTick) & mask)].add(timeout);
+            }
+        }
+    }
+    
+    public long getTickMillis() { return tickMillis; }
+    
+    public int getWheelSize() { return buckets.length; }
+    
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+        
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+        
+        // Cancelled timeouts are dropped when their bucket is next visited
+        public void cancel() {
+            cancelled = true;
+        }
+        
+        public boolean isCancelled() { return cancelled; }
+    }
+}
@@ -0,0 +1,32 @@
+package com.examly.springapp.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+// HMAC keys from configured secrets. An unset secret gets a random key, so anything it
+// signed stops verifying when the application restarts; a secret shorter than the
+// HMAC-SHA256 output is refused at startup.
+public class SigningKeys {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeys.class);
+    
+    public static final int MIN_SECRET_BYTES = 32;
+    
+    public static SecretKeySpec hmacKey(String property, String secret, String algorithm) {
+        if (secret == null || secret.isEmpty()) {
+            logger.warn("{} is not set; using a random signing key", property);
+            byte[] keyBytes = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(keyBytes);
+            return new SecretKeySpec(keyBytes, algorithm);
+        }
+        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException(property + " must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        return new SecretKeySpec(keyBytes, algorithm);
+    }
+}
@@ -0,0 +1,90 @@
+package com.examly.springapp.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token buckets keyed by string, one AtomicLong per key. Each bucket is kept in GCRA form:
+// the value is the time its next token is fully earned, so taking a token is a single CAS
+// and refill needs no background work. Keys are spread over independent stripes so idle
+// sweeps and map resizes touch one stripe at a time. A bucket whose time has passed is
+// full and is dropped by evictIdle; a request racing the sweep simply starts a new bucket.
+public class StripedTokenBuckets {
+    
+    private static final long EVICTED = Long.MIN_VALUE;
+    
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int mask;
+    private final Map<String, AtomicLong>[] stripes;
+    
+    @SuppressWarnings("unchecked")
+    public StripedTokenBuckets(int capacity, int refillPerMinute, int stripeCount) {
+        if (capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerMinute must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.intervalNanos = 60_000_000_000L / refillPerMinute;
+        this.burstNanos = intervalNanos * capacity;
+        this.mask = size - 1;
+        this.stripes = new Map[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+    
+    // Takes one token; returns 0 when granted, otherwise nanoseconds until one is available
+    public long tryAcquire(String key) {
+        Map<String, AtomicLong> stripe = stripeFor(key);
+        while (true) {
+            long now = System.nanoTime();
+            AtomicLong bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            long earned = bucket.get();
+            if (earned == EVICTED) {
+                stripe.remove(key, bucket);
+                continue;
+            }
+            long next = Math.max(earned, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(earned, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    // Drops full buckets; returns how many were removed
+    public int evictIdle() {
+        int evicted = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            long now = System.nanoTime();
+            for (Map.Entry<String, AtomicLong> entry : stripe.entrySet()) {
+                AtomicLong bucket = entry.getValue();
+                long earned = bucket.get();
+                if (earned != EVICTED && earned - now <= 0 && bucket.compareAndSet(earned, EVICTED)) {
+                    stripe.remove(entry.getKey(), bucket);
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+    
+    public int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+    
+    private Map<String, AtomicLong> stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,83 @@
+package com.examly.springapp.util;
+
+import com.examly.springapp.exception.ValidationException;
+import com.examly.springapp.model.EventRegistration;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+// Compact signed door ticket: registration id, event id and username followed by a
+// truncated HMAC-SHA256, base64url encoded. Verifying needs the key and nothing else.
+public class TicketToken {
+    
+    public static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final int HEADER_BYTES = 2 * Long.BYTES;
+    
+    private final Long registrationId;
+    private final Long eventId;
+    private final String username;
+    
+    public TicketToken(Long registrationId, Long eventId, String username) {
+        this.registrationId = registrationId;
+        this.eventId = eventId;
+        this.username = username;
+    }
+    
+    public static TicketToken of(EventRegistration registration) {
+        return new TicketToken(registration.getId(), registration.getEventId(), registration.getUsername());
+    }
+    
+    public String sign(SecretKeySpec key) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(HEADER_BYTES + name.length + SIGNATURE_BYTES);
+        payload.putLong(registrationId).putLong(eventId).put(name);
+        payload.put(mac(key, payload.array(), payload.position()), 0, SIGNATURE_BYTES);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.array());
+    }
+    
+    public static TicketToken verify(String token, SecretKeySpec key) {
+        byte[] raw;
+        try {
+            raw = Base64.getUrlDecoder().decode(token);
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid ticket");
+        }
+        if (raw.length <= HEADER_BYTES + SIGNATURE_BYTES) {
+            throw new ValidationException("Invalid ticket");
+        }
+        int signed = raw.length - SIGNATURE_BYTES;
+        byte[] expected = Arrays.copyOf(mac(key, raw, signed), SIGNATURE_BYTES);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(raw, signed, raw.length))) {
+            throw new ValidationException("Invalid ticket");
+        }
+        ByteBuffer payload = ByteBuffer.wrap(raw, 0, signed);
+        long registrationId = payload.getLong();
+        long eventId = payload.getLong();
+        String username = new String(raw, HEADER_BYTES, signed - HEADER_BYTES, StandardCharsets.UTF_8);
+        return new TicketToken(registrationId, eventId, username);
+    }
+    
+    private static byte[] mac(SecretKeySpec key, byte[] data, int length) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(data, 0, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Ticket signing unavailable", e);
+        }
+    }
+    
+    public Long getRegistrationId() { return registrationId; }
+    
+    public Long getEventId() { return eventId; }
+    
+    public String getUsername() { return username; }
+}
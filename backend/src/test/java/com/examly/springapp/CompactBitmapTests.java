@@ -0,0 +1,87 @@
+package com.examly.springapp;
+
+import com.examly.springapp.util.CompactBitmap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks the bitmap against a HashSet through random writes, and across the switch between
+// sparse and dense buckets in both directions.
+public class CompactBitmapTests {
+
+    @Test
+    void matchesAHashSetUnderRandomWrites() {
+        CompactBitmap bitmap = new CompactBitmap();
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 200_000; i++) {
+            // Three buckets so some go dense and others stay sparse
+            int value = random.nextInt(3) * 65536 + random.nextInt(i % 2 == 0 ? 65536 : 2000);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(value), bitmap.remove(value));
+            } else {
+                assertEquals(expected.add(value), bitmap.add(value));
+            }
+        }
+        assertEquals(expected.size(), bitmap.cardinality());
+        for (int value = 0; value < 3 * 65536; value++) {
+            assertEquals(expected.contains(value), bitmap.contains(value), "value " + value);
+        }
+    }
+
+    @Test
+    void bucketsSwitchToDenseAndBack() {
+        CompactBitmap bitmap = new CompactBitmap();
+        for (int value = 0; value < 4096; value++) {
+            bitmap.add(value);
+        }
+        assertEquals(4096 * 2L, bitmap.sizeInBytes());
+
+        // One value past the array limit turns the bucket into a fixed 8 KiB bit array
+        bitmap.add(4096);
+        assertEquals(8192L, bitmap.sizeInBytes());
+        for (int value = 0; value <= 4096; value++) {
+            assertTrue(bitmap.contains(value));
+        }
+
+        // Back to an array only at half the limit, so a bucket near it does not flip back and forth
+        for (int value = 4096; value > 2048; value--) {
+            assertTrue(bitmap.remove(value));
+        }
+        assertEquals(8192L, bitmap.sizeInBytes());
+        assertTrue(bitmap.remove(2048));
+        assertEquals(2048 * 2L, bitmap.sizeInBytes());
+        assertEquals(2048, bitmap.cardinality());
+        for (int value = 0; value < 2048; value++) {
+            assertTrue(bitmap.contains(value));
+        }
+        assertFalse(bitmap.contains(2048));
+    }
+
+    @Test
+    void emptiedBucketsAreDropped() {
+        CompactBitmap bitmap = new CompactBitmap();
+        bitmap.add(5);
+        bitmap.add(Integer.MAX_VALUE);
+        assertTrue(bitmap.remove(Integer.MAX_VALUE));
+        assertFalse(bitmap.remove(Integer.MAX_VALUE));
+        assertEquals(1, bitmap.cardinality());
+        assertEquals(8L, bitmap.sizeInBytes());
+        assertTrue(bitmap.remove(5));
+        assertEquals(0, bitmap.cardinality());
+        assertEquals(0L, bitmap.sizeInBytes());
+    }
+
+    @Test
+    void repeatedWritesDoNotChangeCardinality() {
+        CompactBitmap bitmap = new CompactBitmap();
+        assertTrue(bitmap.add(42));
+        assertFalse(bitmap.add(42));
+        assertFalse(bitmap.remove(43));
+        assertEquals(1, bitmap.cardinality());
+    }
+}
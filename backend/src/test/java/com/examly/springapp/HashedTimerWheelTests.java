@@ -0,0 +1,105 @@
+package com.examly.springapp;
+
+import com.examly.springapp.util.HashedTimerWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Drives the wheel with explicit clock readings, so nothing here depends on a ticker thread.
+public class HashedTimerWheelTests {
+
+    private static final long TICK = 10;
+
+    @Test
+    void neverFiresBeforeTheDelay() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(TICK, 64);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule("hold", 200);
+        long scheduled = System.currentTimeMillis();
+        assertEquals(0, wheel.advance(scheduled, fired::add));
+        assertEquals(0, wheel.advance(scheduled + 200 - 2 * TICK, fired::add));
+        assertTrue(fired.isEmpty());
+        assertEquals(1, wheel.advance(scheduled + 200 + TICK, fired::add));
+        assertEquals(List.of("hold"), fired);
+        assertEquals(0, wheel.advance(scheduled + 1000, fired::add));
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFire() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(TICK, 64);
+        HashedTimerWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 50);
+        wheel.schedule("kept", 50);
+        cancelled.cancel();
+        assertTrue(cancelled.isCancelled());
+        List<String> fired = new ArrayList<>();
+        assertEquals(1, wheel.advance(System.currentTimeMillis() + 50 + TICK, fired::add));
+        assertEquals(List.of("kept"), fired);
+    }
+
+    @Test
+    void timeoutsBeyondOneRevolutionWaitForTheirTick() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(TICK, 8);
+        assertEquals(8, wheel.getWheelSize());
+        List<String> fired = new ArrayList<>();
+        // 50 ticks out on an 8-bucket wheel: its bucket comes round six times first
+        wheel.schedule("late", 50 * TICK);
+        long scheduled = System.currentTimeMillis();
+        assertEquals(0, wheel.advance(scheduled + 48 * TICK, fired::add));
+        assertEquals(1, wheel.advance(scheduled + 51 * TICK, fired::add));
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    void wheelSizeRoundsUpToAPowerOfTwo() {
+        assertEquals(512, new HashedTimerWheel<String>(TICK, 300).getWheelSize());
+        assertEquals(64, new HashedTimerWheel<String>(TICK, 64).getWheelSize());
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimerWheel<String>(0, 64));
+    }
+
+    @Test
+    void concurrentSchedulesFireExactlyOnce() throws Exception {
+        HashedTimerWheel<Integer> wheel = new HashedTimerWheel<>(TICK, 16);
+        int threads = 8;
+        int perThread = 2000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<Integer, AtomicInteger> fired = new ConcurrentHashMap<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int base = t * perThread;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        wheel.schedule(base + i, i % 300);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            // The ticker keeps advancing while the producers schedule
+            while (!futures.stream().allMatch(Future::isDone)) {
+                wheel.advance(System.currentTimeMillis(), item -> fired.computeIfAbsent(item, k -> new AtomicInteger()).incrementAndGet());
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        wheel.advance(System.currentTimeMillis() + 300 + TICK, item -> fired.computeIfAbsent(item, k -> new AtomicInteger()).incrementAndGet());
+        assertEquals(threads * perThread, fired.size());
+        assertTrue(fired.values().stream().allMatch(count -> count.get() == 1));
+    }
+}
@@ -0,0 +1,229 @@
+package com.examly.springapp;
+
+import com.examly.springapp.repository.PasswordResetTokenRepository;
+import com.examly.springapp.service.DatabasePasswordResetTokenStore;
+import com.examly.springapp.service.InMemoryPasswordResetTokenStore;
+import com.examly.springapp.service.PasswordResetTokenService;
+import com.examly.springapp.service.PasswordResetTokenStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Issues and consumes reset tokens from many threads against both stores; the database
+// store runs outside a test transaction so every thread sees committed rows.
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.sql.init.mode=never"
+})
+@Import(DatabasePasswordResetTokenStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PasswordResetTokenTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private DatabasePasswordResetTokenStore databaseStore;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @BeforeEach
+    void clearTokens() {
+        passwordResetTokenRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void inMemoryTokenIsConsumedOnce() throws Exception {
+        assertConsumedOnce(new InMemoryPasswordResetTokenStore(1000, 64));
+    }
+
+    @Test
+    void databaseTokenIsConsumedOnce() throws Exception {
+        assertConsumedOnce(databaseStore);
+    }
+
+    @Test
+    void inMemoryConcurrentIssueAndConsume() throws Exception {
+        assertConcurrentIssueAndConsume(new InMemoryPasswordResetTokenStore(1000, 64));
+    }
+
+    @Test
+    void databaseConcurrentIssueAndConsume() throws Exception {
+        assertConcurrentIssueAndConsume(databaseStore);
+    }
+
+    @Test
+    void inMemoryReissueRevokesPreviousToken() {
+        assertReissueRevokesPreviousToken(new InMemoryPasswordResetTokenStore(1000, 64));
+    }
+
+    @Test
+    void databaseReissueRevokesPreviousToken() {
+        assertReissueRevokesPreviousToken(databaseStore);
+    }
+
+    @Test
+    void inMemoryRacingIssuesLeaveOneToken() throws Exception {
+        InMemoryPasswordResetTokenStore store = new InMemoryPasswordResetTokenStore(1000, 64);
+        PasswordResetTokenService service = new PasswordResetTokenService(store, 60000);
+        List<String> tokens = runConcurrently(() -> service.issue("same@example.com"));
+        assertEquals(1, store.getStats().get("outstanding"));
+        long usable = tokens.stream().filter(token -> service.consume(token).isPresent()).count();
+        assertEquals(1, usable);
+    }
+
+    @Test
+    void databaseRacingIssuesLeaveOneToken() throws Exception {
+        PasswordResetTokenService service = new PasswordResetTokenService(databaseStore, 60000);
+        List<String> tokens = runConcurrently(() -> service.issue("same@example.com"));
+        assertEquals(1, passwordResetTokenRepository.count());
+        long usable = tokens.stream().filter(token -> service.consume(token).isPresent()).count();
+        assertEquals(1, usable);
+    }
+
+    @Test
+    void inMemoryTokensExpireOnTheTimer() throws Exception {
+        InMemoryPasswordResetTokenStore store = new InMemoryPasswordResetTokenStore(10, 64);
+        PasswordResetTokenService service = new PasswordResetTokenService(store, 50);
+        String token = service.issue("late@example.com");
+        Thread.sleep(100);
+        store.tick();
+        assertEquals(0, store.getStats().get("outstanding"));
+        assertEquals(1L, store.getStats().get("expired"));
+        assertFalse(service.consume(token).isPresent());
+    }
+
+    @Test
+    void databaseTokensExpireOnPurge() throws Exception {
+        PasswordResetTokenService service = new PasswordResetTokenService(databaseStore, 50);
+        String token = service.issue("late@example.com");
+        Thread.sleep(100);
+        assertFalse(service.isValid(token));
+        databaseStore.purgeExpired();
+        assertEquals(0, passwordResetTokenRepository.count());
+        assertFalse(service.consume(token).isPresent());
+    }
+
+    @Test
+    void storesOnlySeeTokenHashes() {
+        Map<String, String> saved = new HashMap<>();
+        PasswordResetTokenStore recording = new PasswordResetTokenStore() {
+            @Override
+            public void save(String tokenHash, String email, long ttlMillis) {
+                saved.put(tokenHash, email);
+            }
+
+            @Override
+            public boolean isValid(String tokenHash) {
+                return saved.containsKey(tokenHash);
+            }
+
+            @Override
+            public Optional<String> consume(String tokenHash) {
+                return Optional.ofNullable(saved.remove(tokenHash));
+            }
+
+            @Override
+            public Map<String, Object> getStats() {
+                return new HashMap<>();
+            }
+        };
+        PasswordResetTokenService service = new PasswordResetTokenService(recording, 60000);
+        String token = service.issue("hashed@example.com");
+        assertFalse(saved.containsKey(token));
+        assertTrue(saved.keySet().iterator().next().matches("[0-9a-f]{64}"));
+        assertEquals(Optional.of("hashed@example.com"), service.consume(token));
+    }
+
+    private void assertConsumedOnce(PasswordResetTokenStore store) throws Exception {
+        PasswordResetTokenService service = new PasswordResetTokenService(store, 60000);
+        String token = service.issue("once@example.com");
+        // Checking does not use the token up
+        assertTrue(service.isValid(token));
+        assertTrue(service.isValid(token));
+        List<Optional<String>> results = runConcurrently(() -> service.consume(token));
+        assertEquals(1, results.stream().filter(Optional::isPresent).count());
+        assertFalse(service.isValid(token));
+        assertFalse(service.consume(token).isPresent());
+    }
+
+    private void assertConcurrentIssueAndConsume(PasswordResetTokenStore store) throws Exception {
+        PasswordResetTokenService service = new PasswordResetTokenService(store, 60000);
+        Map<String, String> issued = new ConcurrentHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String email = "user" + i + "@example.com";
+                futures.add(pool.submit(() -> {
+                    String token = service.issue(email);
+                    issued.put(token, email);
+                    // Consume half straight away so issues and consumes interleave
+                    if (email.hashCode() % 2 == 0) {
+                        assertEquals(Optional.of(email), service.consume(token));
+                        issued.remove(token);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        for (Map.Entry<String, String> entry : issued.entrySet()) {
+            assertEquals(Optional.of(entry.getValue()), service.consume(entry.getKey()));
+        }
+        assertEquals(0, ((Number) store.getStats().get("outstanding")).intValue());
+    }
+
+    private void assertReissueRevokesPreviousToken(PasswordResetTokenStore store) {
+        PasswordResetTokenService service = new PasswordResetTokenService(store, 60000);
+        String first = service.issue("again@example.com");
+        String second = service.issue("again@example.com");
+        assertFalse(service.consume(first).isPresent());
+        assertEquals(Optional.of("again@example.com"), service.consume(second));
+    }
+
+    private <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
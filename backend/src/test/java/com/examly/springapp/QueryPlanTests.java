@@ -0,0 +1,187 @@
+package com.examly.springapp;
+
+import com.examly.springapp.dto.EventFilter;
+import com.examly.springapp.model.Event;
+import com.examly.springapp.model.User;
+import com.examly.springapp.repository.*;
+import com.examly.springapp.util.EventCursor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs every repository finder against H2, EXPLAINs the SQL Hibernate generated and
+// fails if any plan falls back to a full table scan.
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.examly.springapp.QueryPlanTests$SqlRecorder",
+    "spring.sql.init.mode=never"
+})
+public class QueryPlanTests {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private NotificationSettingRepository notificationSettingRepository;
+
+    @Autowired
+    private PrivacySettingRepository privacySettingRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearRecorder() {
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    void everyFinderUsesAnIndex() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        EventCursor cursor = new EventCursor(now, 10L);
+        EventFilter approved = new EventFilter();
+        approved.setStatus(Event.Status.APPROVED);
+
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        finders.put("EventRepository.findByStatus", () -> eventRepository.findByStatus(Event.Status.APPROVED));
+        finders.put("EventRepository.findByOrganizerName", () -> eventRepository.findByOrganizerName("alice"));
+        finders.put("EventRepository.findByCategory", () -> eventRepository.findByCategory("Sports"));
+        finders.put("EventRepository.findByStatusOrderByCreatedAtDesc", () -> eventRepository.findByStatusOrderByCreatedAtDesc(Event.Status.APPROVED));
+        finders.put("EventRepository.countByStatus", () -> eventRepository.countByStatus(Event.Status.PENDING));
+        finders.put("EventRepository.findByStatusOrderByCreatedAtDescIdDesc", () -> eventRepository.findByStatusOrderByCreatedAtDescIdDesc(Event.Status.APPROVED, PageRequest.of(0, 20)));
+        finders.put("EventRepository.findPageAfter", () -> eventRepository.findPageAfter(now, 10L, PageRequest.of(0, 20)));
+        finders.put("EventRepository.findPageByStatusAfter", () -> eventRepository.findPageByStatusAfter(Event.Status.APPROVED, now, 10L, PageRequest.of(0, 20)));
+        finders.put("EventRepository.findProjected", () -> eventRepository.findProjected(Arrays.asList("id", "title"), Event.Status.APPROVED, null, cursor, 20));
+        finders.put("EventRepository.findFiltered", () -> eventRepository.findFiltered(approved, cursor, 20));
+        finders.put("EventRepository.countByField", () -> eventRepository.countByField(approved, "category"));
+        finders.put("EventRepository.countByMonth", () -> eventRepository.countByMonth(approved));
+        finders.put("EventRepository.findByStatusAndDateBetween", () -> eventRepository.findByStatusAndDateBetweenOrderByDateAscTimeAsc(Event.Status.APPROVED, today, today.plusDays(7)));
+        finders.put("EventRepository.findByStatusAndCategoryIgnoreCaseAndDateBetween", () -> eventRepository.findByStatusAndCategoryIgnoreCaseAndDateBetweenOrderByDateAscTimeAsc(Event.Status.APPROVED, "Sports", today, today.plusDays(7)));
+
+        finders.put("EventRegistrationRepository.findByUsername", () -> eventRegistrationRepository.findByUsername("alice"));
+        finders.put("EventRegistrationRepository.findByUsername(paged)", () -> eventRegistrationRepository.findByUsername("alice", PageRequest.of(0, 500)));
+        finders.put("EventRegistrationRepository.findByEventId", () -> eventRegistrationRepository.findByEventId(1L));
+        finders.put("EventRegistrationRepository.existsByUsernameAndEventId", () -> eventRegistrationRepository.existsByUsernameAndEventId("alice", 1L));
+        finders.put("EventRegistrationRepository.findByUsernameAndEventId", () -> eventRegistrationRepository.findByUsernameAndEventId("alice", 1L));
+        finders.put("EventRegistrationRepository.findIdByUsernameAndEventId", () -> eventRegistrationRepository.findIdByUsernameAndEventId("alice", 1L));
+        finders.put("EventRegistrationRepository.existsByIdAndEventId", () -> eventRegistrationRepository.existsByIdAndEventId(1L, 1L));
+        finders.put("EventRegistrationRepository.findByEventIdAndUsernameIn", () -> eventRegistrationRepository.findByEventIdAndUsernameIn(1L, Arrays.asList("alice", "bob")));
+        finders.put("EventRegistrationRepository.countByEventId", () -> eventRegistrationRepository.countByEventId(1L));
+        finders.put("EventRegistrationRepository.countByOrganizerUsername", () -> eventRegistrationRepository.countByOrganizerUsername("alice"));
+
+        finders.put("WaitlistRepository.findByUsernameAndEventId", () -> waitlistRepository.findByUsernameAndEventId("alice", 1L));
+        finders.put("WaitlistRepository.findTop5ByEventIdOrderByIdAsc", () -> waitlistRepository.findTop5ByEventIdOrderByIdAsc(1L));
+        finders.put("WaitlistRepository.existsByEventId", () -> waitlistRepository.existsByEventId(1L));
+        finders.put("WaitlistRepository.countByEventId", () -> waitlistRepository.countByEventId(1L));
+        finders.put("WaitlistRepository.countByEventIdAndIdLessThan", () -> waitlistRepository.countByEventIdAndIdLessThan(1L, 10L));
+        finders.put("AttendanceRepository.findRegistrationIdsByEventId", () -> attendanceRepository.findRegistrationIdsByEventId(1L));
+        finders.put("AttendanceRepository.countByEventId", () -> attendanceRepository.countByEventId(1L));
+
+        finders.put("ReviewRepository.findByEventId", () -> reviewRepository.findByEventId("1"));
+        finders.put("ReviewRepository.findByUsername", () -> reviewRepository.findByUsername("alice"));
+
+        finders.put("UserRepository.findByUsername", () -> userRepository.findByUsername("alice"));
+        finders.put("UserRepository.findByEmail", () -> userRepository.findByEmail("alice@example.com"));
+        finders.put("UserRepository.existsByUsername", () -> userRepository.existsByUsername("alice"));
+        finders.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("alice@example.com"));
+        finders.put("UserRepository.findByRole", () -> userRepository.findByRole(User.Role.ORGANIZER));
+        finders.put("UserRepository.countByRole", () -> userRepository.countByRole(User.Role.ORGANIZER));
+
+        finders.put("CategoryRepository.existsByName", () -> categoryRepository.existsByName("Sports"));
+        finders.put("ZoneRepository.findByName", () -> zoneRepository.findByName("North"));
+        finders.put("VenueRepository.findByVenueName", () -> venueRepository.findByVenueName("Hall"));
+        finders.put("NotificationSettingRepository.findByUserId", () -> notificationSettingRepository.findByUserId(1L));
+        finders.put("PrivacySettingRepository.findByUserId", () -> privacySettingRepository.findByUserId(1L));
+        finders.put("UserProfileRepository.findByUserId", () -> userProfileRepository.findByUserId(1L));
+
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, Runnable> finder : finders.entrySet()) {
+            SqlRecorder.STATEMENTS.clear();
+            finder.getValue().run();
+            assertFalse(SqlRecorder.STATEMENTS.isEmpty(), "No SQL captured for " + finder.getKey());
+            for (String sql : SqlRecorder.STATEMENTS) {
+                String plan = explain(sql);
+                if (plan.contains("tableScan")) {
+                    failures.add(finder.getKey() + " -> " + plan);
+                }
+            }
+        }
+        assertTrue(failures.isEmpty(), "Full table scans:\n" + String.join("\n", failures));
+    }
+
+    @Test
+    void detectsFullScans() {
+        assertTrue(explain("SELECT * FROM events WHERE title = ?").contains("tableScan"));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement ps) -> {
+            try (ResultSet rs = ps.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1).replaceAll("\\s+", " "));
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase().startsWith("select")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.examly.springapp;
+
+import com.examly.springapp.exception.ResourceNotFoundException;
+import com.examly.springapp.model.Event;
+import com.examly.springapp.model.EventRegistration;
+import com.examly.springapp.repository.EventRegistrationRepository;
+import com.examly.springapp.repository.EventRepository;
+import com.examly.springapp.service.SeatCounterService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Seat counters against H2; counters load their starting count from the registration rows,
+// so every test works on its own event.
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.sql.init.mode=never"
+})
+@Import(SeatCounterService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SeatCounterTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private SeatCounterService seatCounterService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+
+    @Test
+    void concurrentReservationsNeverExceedCapacity() throws Exception {
+        Long eventId = event(10);
+        register(eventId, "early1", "early2", "early3");
+        List<Boolean> granted = runConcurrently(() -> seatCounterService.tryReserve(eventId));
+        assertEquals(7, granted.stream().filter(Boolean::booleanValue).count());
+        assertFalse(seatCounterService.tryReserve(eventId));
+        Map<String, Object> availability = seatCounterService.availability(eventId);
+        assertEquals(10, availability.get("registered"));
+        assertEquals(0, availability.get("remaining"));
+    }
+
+    @Test
+    void cancelReturnsTheSeat() {
+        Long eventId = event(1);
+        assertTrue(seatCounterService.tryReserve(eventId));
+        assertFalse(seatCounterService.tryReserve(eventId));
+        seatCounterService.cancel(eventId);
+        assertEquals(1, seatCounterService.availability(eventId).get("remaining"));
+        assertTrue(seatCounterService.tryReserve(eventId));
+        seatCounterService.confirm(eventId);
+        assertEquals(1, seatCounterService.availability(eventId).get("registered"));
+    }
+
+    @Test
+    void holdsBalanceWhenReleasedOrConverted() {
+        Long eventId = event(3);
+        assertTrue(seatCounterService.hold(eventId));
+        assertTrue(seatCounterService.hold(eventId));
+        assertEquals(2, seatCounterService.availability(eventId).get("held"));
+        assertEquals(1, seatCounterService.availability(eventId).get("remaining"));
+
+        seatCounterService.releaseHold(eventId);
+        seatCounterService.beginConvert(eventId);
+        seatCounterService.confirm(eventId);
+        Map<String, Object> availability = seatCounterService.availability(eventId);
+        assertEquals(0, availability.get("held"));
+        assertEquals(1, availability.get("registered"));
+        assertEquals(2, availability.get("remaining"));
+    }
+
+    @Test
+    void reconcileRepairsDrift() {
+        Long eventId = event(5);
+        register(eventId, "alice", "bob");
+        assertTrue(seatCounterService.hold(eventId));
+        assertEquals(2, seatCounterService.availability(eventId).get("remaining"));
+
+        // Rows removed behind the counter's back free their seats on the next pass
+        eventRegistrationRepository.deleteAllInBatch(eventRegistrationRepository.findByEventId(eventId));
+        seatCounterService.reconcile();
+        Map<String, Object> availability = seatCounterService.availability(eventId);
+        assertEquals(1, availability.get("held"));
+        assertEquals(0, availability.get("registered"));
+        assertEquals(4, availability.get("remaining"));
+    }
+
+    @Test
+    void unknownEventIsRejected() {
+        assertThrows(ResourceNotFoundException.class, () -> seatCounterService.tryReserve(-1L));
+    }
+
+    @Test
+    void eventWithoutCapacityIsUnlimited() {
+        Long eventId = event(null);
+        assertTrue(seatCounterService.tryReserve(eventId));
+        assertNull(seatCounterService.availability(eventId).get("remaining"));
+    }
+
+    private Long event(Integer capacity) {
+        Event event = new Event();
+        event.setTitle("Street fair");
+        event.setDate(LocalDate.now().plusDays(7));
+        event.setLocation("Town square");
+        event.setOrganizerName("organizer");
+        event.setCapacity(capacity);
+        return eventRepository.save(event).getId();
+    }
+
+    private void register(Long eventId, String... usernames) {
+        for (String username : usernames) {
+            eventRegistrationRepository.save(new EventRegistration(username, eventId));
+        }
+    }
+
+    private <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
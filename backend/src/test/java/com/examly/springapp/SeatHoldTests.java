@@ -0,0 +1,196 @@
+package com.examly.springapp;
+
+import com.examly.springapp.dto.RegistrationResult;
+import com.examly.springapp.dto.SeatHold;
+import com.examly.springapp.exception.CapacityExceededException;
+import com.examly.springapp.exception.ResourceNotFoundException;
+import com.examly.springapp.model.Event;
+import com.examly.springapp.model.EventRegistration;
+import com.examly.springapp.repository.EventRepository;
+import com.examly.springapp.service.EventRegistrationService;
+import com.examly.springapp.service.RegistrationMembershipIndex;
+import com.examly.springapp.service.SeatCounterService;
+import com.examly.springapp.service.SeatHoldService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Holds against real seat counters; registration writes are stubbed to move the counter the
+// way EventRegistrationService does, and the wheel is ticked by hand.
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.sql.init.mode=never",
+    "registration.holds.duration-ms=50",
+    "registration.holds.tick-ms=10"
+})
+@Import({SeatHoldService.class, SeatCounterService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SeatHoldTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatCounterService seatCounterService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @MockBean
+    private EventRegistrationService eventRegistrationService;
+
+    @MockBean
+    private RegistrationMembershipIndex registrationMembershipIndex;
+
+    @BeforeEach
+    void stubRegistrations() {
+        doAnswer(invocation -> {
+            seatCounterService.releaseHold(invocation.getArgument(0));
+            return null;
+        }).when(eventRegistrationService).releaseHeld(anyLong());
+        doAnswer(invocation -> {
+            Long eventId = invocation.getArgument(1);
+            seatCounterService.beginConvert(eventId);
+            seatCounterService.confirm(eventId);
+            return new RegistrationResult(new EventRegistration(invocation.getArgument(0), eventId), true);
+        }).when(eventRegistrationService).registerHeld(anyString(), anyLong());
+    }
+
+    @Test
+    void holdIsIdempotentPerUser() {
+        Long eventId = event(5);
+        SeatHold first = seatHoldService.hold("alice", eventId);
+        SeatHold again = seatHoldService.hold("alice", eventId);
+        assertEquals(first.getHoldId(), again.getHoldId());
+        assertEquals(1, seatCounterService.availability(eventId).get("held"));
+    }
+
+    @Test
+    void concurrentHoldsRespectCapacity() throws Exception {
+        Long eventId = event(5);
+        List<Boolean> granted = runConcurrently(i -> {
+            try {
+                seatHoldService.hold("user" + i, eventId);
+                return true;
+            } catch (CapacityExceededException e) {
+                return false;
+            }
+        });
+        assertEquals(5, granted.stream().filter(Boolean::booleanValue).count());
+        assertEquals(5, seatCounterService.availability(eventId).get("held"));
+        assertEquals(0, seatCounterService.availability(eventId).get("remaining"));
+    }
+
+    @Test
+    void expiryReleasesTheSeatAndPromotesTheWaitlist() throws Exception {
+        Long eventId = event(1);
+        SeatHold hold = seatHoldService.hold("alice", eventId);
+        assertThrows(CapacityExceededException.class, () -> seatHoldService.hold("bob", eventId));
+        Thread.sleep(100);
+        seatHoldService.tick();
+        assertEquals(SeatHold.Status.EXPIRED, hold.getStatus());
+        assertEquals(1, seatCounterService.availability(eventId).get("remaining"));
+        assertEquals(0, seatCounterService.availability(eventId).get("held"));
+        verify(eventRegistrationService).promoteFromWaitlist(eventId);
+        assertThrows(ResourceNotFoundException.class, () -> seatHoldService.confirm(hold.getHoldId(), "alice"));
+    }
+
+    @Test
+    void onlyTheHolderCanConfirmOrRelease() {
+        Long eventId = event(2);
+        SeatHold hold = seatHoldService.hold("alice", eventId);
+        assertNull(seatHoldService.getHold(hold.getHoldId(), "mallory"));
+        assertFalse(seatHoldService.release(hold.getHoldId(), "mallory"));
+        assertThrows(ResourceNotFoundException.class, () -> seatHoldService.confirm(hold.getHoldId(), "mallory"));
+        assertEquals(SeatHold.Status.HELD, hold.getStatus());
+
+        RegistrationResult result = seatHoldService.confirm(hold.getHoldId(), "alice");
+        assertEquals("alice", result.getRegistration().getUsername());
+        assertEquals(1, seatCounterService.availability(eventId).get("registered"));
+        assertEquals(0, seatCounterService.availability(eventId).get("held"));
+        verify(eventRegistrationService).registerHeld("alice", eventId);
+    }
+
+    @Test
+    void exactlyOneOfConfirmAndReleaseWins() throws Exception {
+        Long eventId = event(1);
+        SeatHold hold = seatHoldService.hold("alice", eventId);
+        List<Boolean> wins = runConcurrently(i -> {
+            if (i % 2 == 0) {
+                return seatHoldService.release(hold.getHoldId(), "alice");
+            }
+            try {
+                seatHoldService.confirm(hold.getHoldId(), "alice");
+                return true;
+            } catch (ResourceNotFoundException e) {
+                return false;
+            }
+        });
+        assertEquals(1, wins.stream().filter(Boolean::booleanValue).count());
+        int registered = (Integer) seatCounterService.availability(eventId).get("registered");
+        int remaining = (Integer) seatCounterService.availability(eventId).get("remaining");
+        assertEquals(0, seatCounterService.availability(eventId).get("held"));
+        assertEquals(1, registered + remaining);
+        verify(eventRegistrationService, times(registered)).registerHeld(eq("alice"), eq(eventId));
+    }
+
+    private Long event(int capacity) {
+        Event event = new Event();
+        event.setTitle("Street fair");
+        event.setDate(LocalDate.now().plusDays(7));
+        event.setLocation("Town square");
+        event.setOrganizerName("organizer");
+        event.setCapacity(capacity);
+        return eventRepository.save(event).getId();
+    }
+
+    private <T> List<T> runConcurrently(ThreadTask<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int index = i;
+                futures.add(pool.submit((Callable<T>) () -> {
+                    start.await();
+                    return task.run(index);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask<T> {
+        T run(int index) throws Exception;
+    }
+}
@@ -0,0 +1,106 @@
+package com.examly.springapp;
+
+import com.examly.springapp.util.StripedTokenBuckets;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Refill rates are slow enough that no token is earned back while a test runs, except where
+// a test waits for one on purpose.
+public class StripedTokenBucketsTests {
+
+    @Test
+    void burstUpToCapacityThenWait() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(5, 1, 4);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, buckets.tryAcquire("10.0.0.1"));
+        }
+        long wait = buckets.tryAcquire("10.0.0.1");
+        assertTrue(wait > 0);
+        assertTrue(wait <= TimeUnit.MINUTES.toNanos(1));
+    }
+
+    @Test
+    void tokenIsEarnedBackAfterTheReportedWait() throws Exception {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 600, 4);
+        assertEquals(0, buckets.tryAcquire("client"));
+        long wait = buckets.tryAcquire("client");
+        assertTrue(wait > 0);
+        assertTrue(wait <= TimeUnit.MILLISECONDS.toNanos(100));
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(wait) + 20);
+        assertEquals(0, buckets.tryAcquire("client"));
+    }
+
+    @Test
+    void concurrentAcquiresGrantExactlyCapacity() throws Exception {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(100, 1, 4);
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        if (buckets.tryAcquire("shared") == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(100, granted.get());
+    }
+
+    @Test
+    void keysAreIndependent() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(2, 1, 4);
+        assertEquals(0, buckets.tryAcquire("a"));
+        assertEquals(0, buckets.tryAcquire("a"));
+        assertTrue(buckets.tryAcquire("a") > 0);
+        for (int i = 0; i < 64; i++) {
+            assertEquals(0, buckets.tryAcquire("other" + i));
+        }
+        assertEquals(65, buckets.size());
+    }
+
+    @Test
+    void evictIdleDropsOnlyFullBuckets() throws Exception {
+        // One token a minute stays drained for the test; one every millisecond is full again at once
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 1, 4);
+        assertEquals(0, buckets.tryAcquire("busy"));
+        StripedTokenBuckets fresh = new StripedTokenBuckets(1, 60_000, 4);
+        assertEquals(0, fresh.tryAcquire("idle"));
+        Thread.sleep(5);
+        assertEquals(0, buckets.evictIdle());
+        assertEquals(1, buckets.size());
+        assertEquals(1, fresh.evictIdle());
+        assertEquals(0, fresh.size());
+        // An evicted key starts over with a full bucket
+        assertEquals(0, fresh.tryAcquire("idle"));
+    }
+
+    @Test
+    void rejectsNonPositiveSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedTokenBuckets(0, 10, 4));
+        assertThrows(IllegalArgumentException.class, () -> new StripedTokenBuckets(10, 0, 4));
+    }
+}